@@ -0,0 +1,27 @@
+package com.betting.betting_services.benchmark;
+
+import com.betting.betting_services.config.ContributionConfig;
+import com.betting.betting_services.config.RewardConfig;
+
+import java.math.BigDecimal;
+
+/**
+ * Strategy settings for benchmarks that run without a Spring context, same values as application.properties.
+ */
+final class BenchmarkConfig {
+
+    private BenchmarkConfig() {
+    }
+
+    static void configureStrategies() {
+        ContributionConfig contributionConfig = new ContributionConfig();
+        contributionConfig.setFixedPercentage(new BigDecimal("10.0"));
+        contributionConfig.setVariableInitialPercentage(new BigDecimal("20.0"));
+        contributionConfig.setVariableDecayRate(new BigDecimal("0.1"));
+
+        RewardConfig rewardConfig = new RewardConfig();
+        rewardConfig.setFixedRewardChance(new BigDecimal("5.0"));
+        rewardConfig.setVariableInitialRewardChance(new BigDecimal("1.0"));
+        rewardConfig.setVariableGrowthRate(new BigDecimal("0.5"));
+    }
+}
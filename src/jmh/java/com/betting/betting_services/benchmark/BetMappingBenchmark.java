@@ -0,0 +1,62 @@
+package com.betting.betting_services.benchmark;
+
+import com.betting.betting_services.entity.Bet;
+import com.betting.betting_services.model.BetDto;
+import com.betting.betting_services.service.BetMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO/entity mapping done for every bet by {@link BetMapper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BetMappingBenchmark {
+
+    private BetDto betDto;
+    private Bet bet;
+
+    @Setup
+    public void setUp() {
+        betDto = BetDto.builder()
+                .userId(42L)
+                .jackpotId(7L)
+                .betAmount(new BigDecimal("125.50"))
+                .idempotencyKey("3f6c2a9e-bench")
+                .build();
+        bet = Bet.builder()
+                .id(1_234_567L)
+                .userId(42L)
+                .jackpotId(7L)
+                .betAmount(new BigDecimal("125.50"))
+                .idempotencyKey("3f6c2a9e-bench")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public Bet toEntity() {
+        return BetMapper.toBet(betDto);
+    }
+
+    @Benchmark
+    public BetDto toDto() {
+        return BetMapper.toDto(bet);
+    }
+}
@@ -0,0 +1,70 @@
+package com.betting.betting_services.benchmark;
+
+import com.betting.betting_services.codec.BetMessageBinaryCodec;
+import com.betting.betting_services.config.AppConfig;
+import com.betting.betting_services.model.BetMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox payload encoding of a {@link BetMessage}: the JSON and binary paths of {@code BetMessageCodec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BetMessageCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new AppConfig().objectMapper();
+
+    private BetMessage message;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        message = BetMessage.builder()
+                .betId(1_234_567L)
+                .userId(42L)
+                .jackpotId(7L)
+                .betAmount(new BigDecimal("125.50"))
+                .build();
+        json = objectMapper.writeValueAsBytes(message);
+        binary = BetMessageBinaryCodec.encode(message);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BetMessageBinaryCodec.encode(message);
+    }
+
+    @Benchmark
+    public BetMessage decodeJson() throws IOException {
+        return objectMapper.readValue(json, BetMessage.class);
+    }
+
+    @Benchmark
+    public BetMessage decodeBinary() {
+        return BetMessageBinaryCodec.decode(binary);
+    }
+}
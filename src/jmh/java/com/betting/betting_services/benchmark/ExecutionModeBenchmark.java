@@ -0,0 +1,97 @@
+package com.betting.betting_services.benchmark;
+
+import com.betting.betting_services.service.DatabaseBulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request handling on a Tomcat-sized platform thread pool versus one virtual thread per request.
+ * <p>
+ * A simulated request holds a {@link DatabaseBulkhead} permit for {@code dbMillis}, as a transaction holds a
+ * connection, and then blocks for {@code ioMillis} outside the database (client I/O, Kafka). Each invocation
+ * submits {@value #REQUESTS} requests at once, so the platform pool queues them while virtual threads only queue
+ * on the bulkhead.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1"})
+    private long dbMillis;
+
+    @Param({"5", "50"})
+    private long ioMillis;
+
+    private ExecutorService executor;
+    private DatabaseBulkhead bulkhead;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        bulkhead = new DatabaseBulkhead(true, POOL_SIZE, 2, TimeUnit.MINUTES.toMillis(1), new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void handleRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    bulkhead.call(() -> sleep(dbMillis));
+                    sleep(ioMillis);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+    }
+
+    private static Void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
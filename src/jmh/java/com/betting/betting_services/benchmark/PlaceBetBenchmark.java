@@ -0,0 +1,103 @@
+package com.betting.betting_services.benchmark;
+
+import com.betting.betting_services.BettingServicesApplication;
+import com.betting.betting_services.entity.Jackpot;
+import com.betting.betting_services.enums.JackpotContributionType;
+import com.betting.betting_services.enums.JackpotRewardType;
+import com.betting.betting_services.model.BetDto;
+import com.betting.betting_services.repository.JackpotRepository;
+import com.betting.betting_services.service.BetService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BetService#placeBet} end to end against an embedded PostgreSQL, with the outbox relay disabled so Kafka
+ * is never contacted. Run with {@code -t} to measure contention on the jackpot rows.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlaceBetBenchmark {
+
+    private static final int JACKPOTS = 4;
+
+    @Param({"database", "in-memory"})
+    private String ledgerMode;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private BetService betService;
+    private Long[] jackpotIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        context = SpringApplication.run(BettingServicesApplication.class,
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.main.web-application-type=none",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.betting=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.tool.schema=WARN",
+                "--outbox.relay.enabled=false",
+                "--jackpot.pipeline.mode=sync",
+                "--jackpot.ledger.mode=" + ledgerMode);
+
+        betService = context.getBean(BetService.class);
+        JackpotRepository jackpotRepository = context.getBean(JackpotRepository.class);
+
+        jackpotIds = new Long[JACKPOTS];
+        for (int i = 0; i < JACKPOTS; i++) {
+            Jackpot jackpot = jackpotRepository.save(Jackpot.builder()
+                    .initialJackpotValue(new BigDecimal("10000.00"))
+                    .currentJackpotValue(new BigDecimal("10000.00"))
+                    .maxJackpotValue(new BigDecimal("100000.00"))
+                    .jackpotContributionType(i % 2 == 0 ? JackpotContributionType.FIXED : JackpotContributionType.PERCENTAGE)
+                    .jackpotRewardType(i % 2 == 0 ? JackpotRewardType.FIXED : JackpotRewardType.VARIABLE)
+                    .build());
+            jackpotIds[i] = jackpot.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public BetDto placeBet() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return betService.placeBet(BetDto.builder()
+                .userId(random.nextLong(1, 10_000))
+                .jackpotId(jackpotIds[random.nextInt(JACKPOTS)])
+                .betAmount(BigDecimal.valueOf(random.nextLong(1_00, 1_000_00), 2))
+                .build());
+    }
+}
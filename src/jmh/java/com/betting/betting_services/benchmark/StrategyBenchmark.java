@@ -0,0 +1,88 @@
+package com.betting.betting_services.benchmark;
+
+import com.betting.betting_services.enums.JackpotContributionType;
+import com.betting.betting_services.enums.JackpotRewardType;
+import com.betting.betting_services.money.MinorUnits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contribution and reward strategies behind the enums, in their {@code BigDecimal} and minor-unit variants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    @Param({"FIXED", "PERCENTAGE"})
+    private JackpotContributionType contributionType;
+
+    @Param({"FIXED", "VARIABLE"})
+    private JackpotRewardType rewardType;
+
+    private final BigDecimal[] decimalBets = new BigDecimal[INPUTS];
+    private final BigDecimal[] decimalValues = new BigDecimal[INPUTS];
+    private final long[] minorUnitBets = new long[INPUTS];
+    private final long[] minorUnitValues = new long[INPUTS];
+    private final BigDecimal initialValue = MinorUnits.toDecimal(1_000_000L);
+    private final BigDecimal maxValue = MinorUnits.toDecimal(10_000_000L);
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkConfig.configureStrategies();
+
+        // Varied inputs so the JIT cannot fold a constant result
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < INPUTS; i++) {
+            minorUnitBets[i] = random.nextLong(1_00L, 1_000_00L);
+            minorUnitValues[i] = random.nextLong(1_000_000L, 10_000_000L);
+            decimalBets[i] = MinorUnits.toDecimal(minorUnitBets[i]);
+            decimalValues[i] = MinorUnits.toDecimal(minorUnitValues[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal contributionDecimal() {
+        int i = next();
+        return contributionType.getStrategy().calculate(decimalBets[i], decimalValues[i], initialValue);
+    }
+
+    @Benchmark
+    public long contributionMinorUnits() {
+        int i = next();
+        return contributionType.getMinorUnitStrategy().calculate(minorUnitBets[i], minorUnitValues[i], 1_000_000L);
+    }
+
+    @Benchmark
+    public boolean rewardDecimal() {
+        return rewardType.getStrategy().isEligibleForReward(decimalValues[next()], initialValue, maxValue);
+    }
+
+    @Benchmark
+    public boolean rewardMinorUnits() {
+        return rewardType.getMinorUnitStrategy().draw(minorUnitValues[next()], 1_000_000L, 10_000_000L).won();
+    }
+
+    private int next() {
+        return next++ & (INPUTS - 1);
+    }
+}
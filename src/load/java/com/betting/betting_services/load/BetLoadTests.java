@@ -0,0 +1,323 @@
+package com.betting.betting_services.load;
+
+import com.betting.betting_services.codec.BetMessageCodec;
+import com.betting.betting_services.entity.Jackpot;
+import com.betting.betting_services.enums.JackpotContributionType;
+import com.betting.betting_services.enums.JackpotRewardType;
+import com.betting.betting_services.repository.JackpotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@code POST /api/v1/bets} from {@code load.clients} concurrent clients for {@code load.duration-seconds}
+ * against an embedded Kafka broker and an embedded PostgreSQL, and reports throughput, request latency and the
+ * lag between a bet being committed and its outbox event being readable from the topic.
+ * <p>
+ * Bets are spread over {@code load.jackpots} jackpots with a Zipf skew of {@code load.skew}, so raising the skew
+ * shows how much a hot jackpot row costs compared to the outbox drain.
+ */
+@Tag("load")
+@SpringBootTest(
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {
+				"spring.jpa.show-sql=false",
+				"logging.level.com.betting=WARN",
+				"logging.level.org.hibernate.SQL=WARN",
+				"logging.level.org.hibernate.tool.schema=WARN",
+				"logging.level.org.apache.kafka=WARN"
+		})
+@EmbeddedKafka(
+		partitions = 6,
+		topics = {"${kafka.topic.jackpot-bets}", "${kafka.topic.jackpot-bets-dlt}"},
+		bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class BetLoadTests {
+
+	private static final int CLIENTS = Integer.getInteger("load.clients", 32);
+	private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+	private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+	private static final int JACKPOTS = Integer.getInteger("load.jackpots", 10);
+	private static final double SKEW = Double.parseDouble(System.getProperty("load.skew", "1.0"));
+	private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(120);
+
+	private static final Logger log = LoggerFactory.getLogger(BetLoadTests.class);
+
+	private static EmbeddedPostgres postgres;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgres.start();
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "postgres");
+	}
+
+	@AfterAll
+	static void stopDatabase() throws IOException {
+		postgres.close();
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Value("${kafka.topic.jackpot-bets}")
+	private String jackpotBetsTopic;
+
+	@Autowired
+	private JackpotRepository jackpotRepository;
+
+	@Autowired
+	private BetMessageCodec betMessageCodec;
+
+	@Autowired
+	private EmbeddedKafkaBroker embeddedKafka;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@Test
+	void placeBets() throws Exception {
+		List<Long> jackpotIds = createJackpots();
+		ZipfDistribution skew = new ZipfDistribution(JACKPOTS, SKEW);
+
+		Map<Long, Long> committedAt = new ConcurrentHashMap<>();
+		Map<Long, Long> consumedAt = new ConcurrentHashMap<>();
+		TopicReader topicReader = new TopicReader(consumedAt);
+		Thread reader = Thread.ofPlatform().name("load-topic-reader").start(topicReader);
+
+		try {
+			drive(jackpotIds, skew, Duration.ofSeconds(WARMUP_SECONDS), null);
+			LoadResult result = drive(jackpotIds, skew, Duration.ofSeconds(DURATION_SECONDS), committedAt);
+			long backlog = pendingOutboxEvents();
+
+			long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+			while (!consumedAt.keySet().containsAll(committedAt.keySet()) && System.nanoTime() < drainDeadline) {
+				Thread.sleep(100);
+			}
+
+			long[] lags = committedAt.entrySet().stream()
+					.filter(entry -> consumedAt.containsKey(entry.getKey()))
+					.mapToLong(entry -> Math.max(0, consumedAt.get(entry.getKey()) - entry.getValue()))
+					.sorted()
+					.toArray();
+			long missing = committedAt.size() - lags.length;
+
+			report(result, skew, backlog, lags, missing);
+
+			assertThat(result.latencies()).isNotEmpty();
+			assertThat(missing).as("bets never seen on %s", jackpotBetsTopic).isZero();
+		} finally {
+			topicReader.stop();
+			reader.join();
+		}
+	}
+
+	private List<Long> createJackpots() {
+		List<Long> jackpotIds = new ArrayList<>(JACKPOTS);
+		for (int i = 0; i < JACKPOTS; i++) {
+			Jackpot jackpot = jackpotRepository.save(Jackpot.builder()
+					.initialJackpotValue(new BigDecimal("10000.00"))
+					.currentJackpotValue(new BigDecimal("10000.00"))
+					.maxJackpotValue(new BigDecimal("1000000.00"))
+					.jackpotContributionType(i % 2 == 0 ? JackpotContributionType.FIXED : JackpotContributionType.PERCENTAGE)
+					.jackpotRewardType(i % 2 == 0 ? JackpotRewardType.FIXED : JackpotRewardType.VARIABLE)
+					.build());
+			jackpotIds.add(jackpot.getId());
+		}
+		return jackpotIds;
+	}
+
+	/**
+	 * Runs all clients until {@code duration} elapses. Each client sends its next bet as soon as the previous one
+	 * is answered.
+	 *
+	 * @param committedAt receives the response time of every placed bet, or {@code null} to discard results
+	 */
+	private LoadResult drive(List<Long> jackpotIds, ZipfDistribution skew, Duration duration,
+							 Map<Long, Long> committedAt) throws Exception {
+		URI uri = URI.create("http://localhost:" + port + "/api/v1/bets");
+		long start = System.nanoTime();
+		long deadline = start + duration.toNanos();
+
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+		int[] errors = new int[CLIENTS];
+
+		for (int client = 0; client < CLIENTS; client++) {
+			int clientIndex = client;
+			futures.add(clients.submit(() -> {
+				SplittableRandom random = new SplittableRandom(clientIndex);
+				LongStream.Builder latencies = LongStream.builder();
+
+				while (System.nanoTime() < deadline) {
+					String body = objectMapper.writeValueAsString(Map.of(
+							"userId", random.nextLong(1, 100_000),
+							"jackpotId", jackpotIds.get(skew.sample(random)),
+							"betAmount", BigDecimal.valueOf(random.nextLong(1_00, 500_00), 2)));
+
+					HttpRequest request = HttpRequest.newBuilder(uri)
+							.header("Content-Type", "application/json")
+							.POST(HttpRequest.BodyPublishers.ofString(body))
+							.build();
+
+					long sent = System.nanoTime();
+					HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+					long answered = System.nanoTime();
+
+					if (response.statusCode() != 201) {
+						errors[clientIndex]++;
+						continue;
+					}
+
+					latencies.add(answered - sent);
+					if (committedAt != null) {
+						long betId = objectMapper.readTree(response.body()).path("data").path("id").asLong();
+						committedAt.put(betId, answered);
+					}
+				}
+				return latencies.build().toArray();
+			}));
+		}
+
+		List<long[]> perClient = new ArrayList<>(CLIENTS);
+		for (Future<long[]> future : futures) {
+			perClient.add(future.get());
+		}
+		clients.shutdown();
+
+		long elapsed = System.nanoTime() - start;
+		long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+		return new LoadResult(latencies, Arrays.stream(errors).sum(), elapsed);
+	}
+
+	private long pendingOutboxEvents() {
+		Long pending = jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM outbox_events WHERE status = 'PENDING'", Long.class);
+		return pending == null ? 0 : pending;
+	}
+
+	private void report(LoadResult result, ZipfDistribution skew, long backlog, long[] lags, long missing) {
+		double seconds = result.elapsedNanos() / 1e9;
+
+		log.warn("""
+
+				Load test: {} clients, {} s, {} jackpots, skew {} (hottest jackpot gets {}% of bets)
+				  bets placed      {} ({} errors)
+				  throughput       {} bets/s
+				  latency          p50 {} ms, p99 {} ms, p999 {} ms, max {} ms
+				  outbox backlog   {} pending events when load stopped
+				  outbox to topic  p50 {} ms, p99 {} ms, p999 {} ms, max {} ms ({} bets not seen)
+				""",
+				CLIENTS, DURATION_SECONDS, JACKPOTS, SKEW, String.format("%.1f", skew.share(0) * 100),
+				result.latencies().length, result.errors(),
+				String.format("%.0f", result.latencies().length / seconds),
+				millis(percentile(result.latencies(), 0.50)), millis(percentile(result.latencies(), 0.99)),
+				millis(percentile(result.latencies(), 0.999)), millis(percentile(result.latencies(), 1.0)),
+				backlog,
+				millis(percentile(lags, 0.50)), millis(percentile(lags, 0.99)),
+				millis(percentile(lags, 0.999)), millis(percentile(lags, 1.0)), missing);
+	}
+
+	private static long percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(quantile * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	private static String millis(long nanos) {
+		return String.format("%.2f", nanos / 1e6);
+	}
+
+	private record LoadResult(long[] latencies, int errors, long elapsedNanos) {
+	}
+
+	/**
+	 * Reads the bets topic and records when each bet was first seen.
+	 */
+	private final class TopicReader implements Runnable {
+
+		private final Map<Long, Long> consumedAt;
+		private volatile boolean running = true;
+
+		private TopicReader(Map<Long, Long> consumedAt) {
+			this.consumedAt = consumedAt;
+		}
+
+		@Override
+		public void run() {
+			Map<String, Object> props = KafkaTestUtils.consumerProps("bet-load-tests", "false", embeddedKafka);
+			props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+			props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+			try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<String, byte[]>(props).createConsumer()) {
+				consumer.subscribe(List.of(jackpotBetsTopic));
+
+				while (running) {
+					for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(100))) {
+						long seen = System.nanoTime();
+						Header formatHeader = record.headers().lastHeader(BetMessageCodec.PAYLOAD_FORMAT_HEADER);
+						try {
+							Long betId = betMessageCodec.decode(record.value(),
+									BetMessageCodec.formatOf(formatHeader == null ? null : formatHeader.value())).getBetId();
+							consumedAt.putIfAbsent(betId, seen);
+						} catch (IOException | IllegalArgumentException e) {
+							log.warn("Skipping undecodable record at offset {}", record.offset(), e);
+						}
+					}
+				}
+			}
+		}
+
+		private void stop() {
+			running = false;
+		}
+	}
+}
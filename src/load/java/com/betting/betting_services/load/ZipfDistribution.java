@@ -0,0 +1,40 @@
+package com.betting.betting_services.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf-distributed ranks in {@code [0, size)}: rank {@code k} is drawn with a probability proportional to
+ * {@code 1 / (k + 1)^exponent}. An exponent of {@code 0} is uniform, higher exponents concentrate the draws on
+ * the first ranks.
+ */
+final class ZipfDistribution {
+
+	private final double[] cumulative;
+
+	ZipfDistribution(int size, double exponent) {
+		cumulative = new double[size];
+
+		double sum = 0;
+		for (int k = 0; k < size; k++) {
+			sum += 1 / Math.pow(k + 1, exponent);
+			cumulative[k] = sum;
+		}
+		for (int k = 0; k < size; k++) {
+			cumulative[k] /= sum;
+		}
+	}
+
+	int sample(SplittableRandom random) {
+		int index = Arrays.binarySearch(cumulative, random.nextDouble());
+		int rank = index >= 0 ? index : -index - 1;
+		return Math.min(rank, cumulative.length - 1);
+	}
+
+	/**
+	 * @return the share of draws that land on {@code rank}
+	 */
+	double share(int rank) {
+		return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+	}
+}
@@ -0,0 +1,77 @@
+package com.betting.betting_services.codec;
+
+import com.betting.betting_services.model.BetMessage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-layout binary encoding of {@link BetMessage}.
+ * <p>
+ * Version 1 layout, big-endian, 34 bytes:
+ * <pre>
+ * offset  size  field
+ *      0     1  schema version (1)
+ *      1     8  betId
+ *      9     8  userId
+ *     17     8  jackpotId
+ *     25     1  betAmount scale
+ *     26     8  betAmount unscaled value
+ * </pre>
+ * Encoding allocates the result array and the {@link BigInteger} returned by
+ * {@link BigDecimal#unscaledValue()}; decoding allocates only the message and its amount. Amounts whose unscaled
+ * value does not fit a {@code long} are rejected with {@link IllegalArgumentException}.
+ */
+public final class BetMessageBinaryCodec {
+
+    public static final byte VERSION_1 = 1;
+    public static final int VERSION_1_LENGTH = 34;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private BetMessageBinaryCodec() {
+    }
+
+    public static byte[] encode(BetMessage message) {
+        BigDecimal betAmount = message.getBetAmount();
+        int scale = betAmount.scale();
+        if (scale < 0 || scale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported bet amount scale: " + scale);
+        }
+        BigInteger unscaled = betAmount.unscaledValue();
+        if (unscaled.bitLength() >= Long.SIZE) {
+            throw new IllegalArgumentException("Bet amount out of range: " + betAmount.toPlainString());
+        }
+
+        byte[] bytes = new byte[VERSION_1_LENGTH];
+        bytes[0] = VERSION_1;
+        LONG.set(bytes, 1, message.getBetId());
+        LONG.set(bytes, 9, message.getUserId());
+        LONG.set(bytes, 17, message.getJackpotId());
+        bytes[25] = (byte) scale;
+        LONG.set(bytes, 26, unscaled.longValue());
+        return bytes;
+    }
+
+    public static BetMessage decode(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty bet message");
+        }
+        if (bytes[0] != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported bet message version: " + bytes[0]);
+        }
+        if (bytes.length != VERSION_1_LENGTH) {
+            throw new IllegalArgumentException("Invalid bet message length: " + bytes.length);
+        }
+
+        return BetMessage.builder()
+                .betId((long) LONG.get(bytes, 1))
+                .userId((long) LONG.get(bytes, 9))
+                .jackpotId((long) LONG.get(bytes, 17))
+                .betAmount(BigDecimal.valueOf((long) LONG.get(bytes, 26), bytes[25]))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.betting.betting_services.codec;
+
+import com.betting.betting_services.enums.PayloadFormat;
+import com.betting.betting_services.model.BetMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Encodes outbox payloads in the format selected by {@code outbox.payload.format} ({@code json} or
+ * {@code binary}) and decodes payloads of either format.
+ */
+@Component
+@RequiredArgsConstructor
+public class BetMessageCodec {
+
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+
+    @Value("${outbox.payload.format:json}")
+    private String configuredFormat;
+
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    private PayloadFormat format;
+
+    @PostConstruct
+    void init() {
+        format = PayloadFormat.valueOf(configuredFormat.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public byte[] encode(BetMessage message) throws JsonProcessingException {
+        return switch (format) {
+            case JSON -> objectMapper.writeValueAsBytes(message);
+            case BINARY -> BetMessageBinaryCodec.encode(message);
+        };
+    }
+
+    /**
+     * @throws IOException              if a JSON payload cannot be parsed
+     * @throws IllegalArgumentException if a binary payload has an unknown version or length
+     */
+    public BetMessage decode(byte[] payload, PayloadFormat payloadFormat) throws IOException {
+        return switch (payloadFormat) {
+            case JSON -> objectMapper.readValue(payload, BetMessage.class);
+            case BINARY -> BetMessageBinaryCodec.decode(payload);
+        };
+    }
+
+    public static byte[] formatHeader(PayloadFormat payloadFormat) {
+        return payloadFormat.name().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return the format named by a {@code payload-format} header; JSON when the header is absent
+     */
+    public static PayloadFormat formatOf(byte[] header) {
+        return header == null ? PayloadFormat.JSON : PayloadFormat.valueOf(new String(header, StandardCharsets.US_ASCII));
+    }
+}
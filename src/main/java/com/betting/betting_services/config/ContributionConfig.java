@@ -1,5 +1,6 @@
 package com.betting.betting_services.config;
 
+import com.betting.betting_services.money.MinorUnits;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -14,19 +15,27 @@ public class ContributionConfig {
     private static BigDecimal variableInitialPercentage;
     private static BigDecimal variableDecayRate;
 
+    // Same settings as MinorUnits rates, for the minor-unit strategies
+    private static long fixedRate;
+    private static long variableInitialRate;
+    private static long variableDecayRateValue;
+
     @Value("${jackpot.contribution.fixed.percentage}")
     public void setFixedPercentage(BigDecimal value) {
         ContributionConfig.fixedPercentage = value;
+        ContributionConfig.fixedRate = MinorUnits.rateOfPercent(value);
     }
 
     @Value("${jackpot.contribution.variable.initial-percentage}")
     public void setVariableInitialPercentage(BigDecimal value) {
         ContributionConfig.variableInitialPercentage = value;
+        ContributionConfig.variableInitialRate = MinorUnits.rateOfPercent(value);
     }
 
     @Value("${jackpot.contribution.variable.decay-rate}")
     public void setVariableDecayRate(BigDecimal value) {
         ContributionConfig.variableDecayRate = value;
+        ContributionConfig.variableDecayRateValue = MinorUnits.rateOf(value);
     }
 
     public static BigDecimal getFixedPercentageValue() {
@@ -40,4 +49,16 @@ public class ContributionConfig {
     public static BigDecimal getVariableDecayRateValue() {
         return variableDecayRate;
     }
+
+    public static long getFixedRate() {
+        return fixedRate;
+    }
+
+    public static long getVariableInitialRate() {
+        return variableInitialRate;
+    }
+
+    public static long getVariableDecayRate() {
+        return variableDecayRateValue;
+    }
 }
@@ -0,0 +1,54 @@
+package com.betting.betting_services.config;
+
+import com.betting.betting_services.service.UndecodableBetException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * Error handling of the {@code jackpot-bets} consumer in {@code jackpot.pipeline.mode=async}.
+ * <p>
+ * A bet that still fails after {@code jackpot.pipeline.retry.max-attempts} retries is published to
+ * {@code jackpot.pipeline.dlt-topic} with the exception headers of {@link DeadLetterPublishingRecoverer}. Its
+ * outbox event is already published, so without the dead-letter topic the bet would never be settled and nothing
+ * would show it. A record that cannot be decoded ({@link UndecodableBetException}) is published there without retries.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jackpot.pipeline.mode", havingValue = "async")
+@Slf4j
+public class KafkaConsumerConfig {
+
+    @Value("${jackpot.pipeline.dlt-topic:${kafka.topic.jackpot-bets-dlt}}")
+    private String deadLetterTopic;
+
+    @Value("${jackpot.pipeline.retry.interval-ms:1000}")
+    private long retryIntervalMs;
+
+    @Value("${jackpot.pipeline.retry.max-attempts:9}")
+    private long retryMaxAttempts;
+
+    @Bean
+    public CommonErrorHandler jackpotBetErrorHandler(KafkaTemplate<String, byte[]> kafkaTemplate) {
+        // A negative partition lets the producer choose, the dead-letter topic need not mirror the source topic
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(deadLetterTopic, -1));
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler((record, exception) -> {
+            log.error("Bet at {}-{}@{} failed after {} retries, sending it to {}", record.topic(), record.partition(),
+                    record.offset(), retryMaxAttempts, deadLetterTopic, exception);
+            recoverer.accept(record, exception);
+        }, new FixedBackOff(retryIntervalMs, retryMaxAttempts));
+        // Decoding fails the same way every time, so the record goes to the dead-letter topic without retries
+        errorHandler.addNotRetryableExceptions(UndecodableBetException.class);
+
+        return errorHandler;
+    }
+}
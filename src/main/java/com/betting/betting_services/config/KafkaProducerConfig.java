@@ -0,0 +1,96 @@
+package com.betting.betting_services.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Producer used by the outbox relay, tuned by {@code kafka.producer.profile} on top of the
+ * {@code spring.kafka.producer.*} settings:
+ * <ul>
+ *     <li>{@code latency} (default): records are sent as soon as possible, uncompressed</li>
+ *     <li>{@code throughput}: records linger to fill large compressed batches</li>
+ *     <li>{@code exactly-once}: throughput batching with an idempotent, transactional producer. The outbox relay
+ *     publishes each claimed batch in one Kafka transaction.</li>
+ * </ul>
+ * The producer's client metrics, among them batch size, records per request and compression rate, are
+ * registered with Micrometer and tagged with the profile.
+ */
+@Configuration
+@Slf4j
+public class KafkaProducerConfig {
+
+    @Value("${kafka.producer.profile:latency}")
+    private String profile;
+
+    @Value("${kafka.producer.latency.linger-ms:0}")
+    private int latencyLingerMs;
+
+    @Value("${kafka.producer.throughput.linger-ms:20}")
+    private int throughputLingerMs;
+
+    @Value("${kafka.producer.throughput.batch-size:262144}")
+    private int throughputBatchSize;
+
+    @Value("${kafka.producer.throughput.compression-type:lz4}")
+    private String throughputCompressionType;
+
+    @Value("${kafka.producer.exactly-once.transaction-id-prefix:outbox-${HOSTNAME:local}-}")
+    private String transactionIdPrefix;
+
+    @Bean
+    public ProducerFactory<String, byte[]> kafkaProducerFactory(KafkaProperties kafkaProperties,
+                                                                ObjectProvider<SslBundles> sslBundles,
+                                                                MeterRegistry meterRegistry) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+
+        switch (profile) {
+            case "latency" -> {
+                config.put(ProducerConfig.LINGER_MS_CONFIG, latencyLingerMs);
+                config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none");
+            }
+            case "throughput", "exactly-once" -> {
+                config.put(ProducerConfig.LINGER_MS_CONFIG, throughputLingerMs);
+                config.put(ProducerConfig.BATCH_SIZE_CONFIG, throughputBatchSize);
+                config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, throughputCompressionType);
+            }
+            default -> throw new IllegalStateException("Unknown kafka.producer.profile: " + profile
+                    + ", expected latency, throughput or exactly-once");
+        }
+
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(config);
+
+        if ("exactly-once".equals(profile)) {
+            // Implies enable.idempotence=true and acks=all
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry, List.of(Tag.of("profile", profile))));
+
+        log.info("Kafka producer profile: {}, linger.ms={}, batch.size={}, compression.type={}", profile,
+                config.get(ProducerConfig.LINGER_MS_CONFIG),
+                config.getOrDefault(ProducerConfig.BATCH_SIZE_CONFIG, "default"),
+                config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> kafkaProducerFactory) {
+        return new KafkaTemplate<>(kafkaProducerFactory);
+    }
+}
@@ -0,0 +1,63 @@
+package com.betting.betting_services.config;
+
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.schema.spi.SchemaFilter;
+import org.hibernate.tool.schema.spi.SchemaFilterProvider;
+
+/**
+ * Keeps Hibernate schema management away from {@code outbox_events}.
+ * <p>
+ * The table is range-partitioned by {@code created_at}, which Hibernate cannot express, so it is created by
+ * {@code schema.sql} and its partitions are managed by {@code OutboxPartitionMaintenance}. Its id sequence is
+ * created there as well: the table survives restarts, so a sequence recreated by {@code create-drop} would hand
+ * out ids that are already taken.
+ */
+public class OutboxSchemaFilterProvider implements SchemaFilterProvider {
+
+    private static final String OUTBOX_TABLE = "outbox_events";
+    private static final String OUTBOX_SEQUENCE = "outbox_events_seq";
+
+    private static final SchemaFilter FILTER = new SchemaFilter() {
+        @Override
+        public boolean includeNamespace(Namespace namespace) {
+            return true;
+        }
+
+        @Override
+        public boolean includeTable(Table table) {
+            return !OUTBOX_TABLE.equalsIgnoreCase(table.getName());
+        }
+
+        @Override
+        public boolean includeSequence(Sequence sequence) {
+            return !OUTBOX_SEQUENCE.equalsIgnoreCase(sequence.getName().getSequenceName().getText());
+        }
+    };
+
+    @Override
+    public SchemaFilter getCreateFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getDropFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getTruncatorFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getMigrateFilter() {
+        return FILTER;
+    }
+
+    @Override
+    public SchemaFilter getValidateFilter() {
+        return FILTER;
+    }
+}
@@ -1,5 +1,7 @@
 package com.betting.betting_services.config;
 
+import com.betting.betting_services.money.MinorUnits;
+import com.betting.betting_services.service.strategy.RewardRandom;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -14,19 +16,36 @@ public class RewardConfig {
     private static BigDecimal variableInitialRewardChance;
     private static BigDecimal variableGrowthRate;
 
+    // Same settings as MinorUnits rates, for the minor-unit strategies
+    private static long fixedRewardRate;
+    private static long fixedRewardThreshold;
+    private static long variableInitialRewardRate;
+    private static long variableGrowthRateValue;
+
     @Value("${jackpot.reward.fixed.chance}")
     public void setFixedRewardChance(BigDecimal value) {
         RewardConfig.fixedRewardChance = value;
+        RewardConfig.fixedRewardRate = MinorUnits.rateOfPercent(value);
+        RewardConfig.fixedRewardThreshold = RewardRandom.threshold(RewardConfig.fixedRewardRate);
     }
 
     @Value("${jackpot.reward.variable.initial-chance}")
     public void setVariableInitialRewardChance(BigDecimal value) {
         RewardConfig.variableInitialRewardChance = value;
+        RewardConfig.variableInitialRewardRate = MinorUnits.rateOfPercent(value);
     }
 
     @Value("${jackpot.reward.variable.growth-rate}")
     public void setVariableGrowthRate(BigDecimal value) {
         RewardConfig.variableGrowthRate = value;
+        RewardConfig.variableGrowthRateValue = MinorUnits.rateOf(value);
+    }
+
+    @Value("${jackpot.reward.random.seed:#{null}}")
+    public void setRandomSeed(Long seed) {
+        if (seed != null) {
+            RewardRandom.seed(seed);
+        }
     }
 
     public static BigDecimal getFixedRewardChanceValue() {
@@ -40,4 +59,20 @@ public class RewardConfig {
     public static BigDecimal getVariableGrowthRateValue() {
         return variableGrowthRate;
     }
+
+    public static long getFixedRewardRate() {
+        return fixedRewardRate;
+    }
+
+    public static long getFixedRewardThreshold() {
+        return fixedRewardThreshold;
+    }
+
+    public static long getVariableInitialRewardRate() {
+        return variableInitialRewardRate;
+    }
+
+    public static long getVariableGrowthRate() {
+        return variableGrowthRateValue;
+    }
 }
@@ -1,36 +1,96 @@
 package com.betting.betting_services.controller;
 
 import com.betting.betting_services.model.ApiResponse;
+import com.betting.betting_services.model.BetBatchRequest;
 import com.betting.betting_services.model.BetDto;
+import com.betting.betting_services.model.BetSummary;
+import com.betting.betting_services.model.KeysetPage;
+import com.betting.betting_services.service.BatchLockRetry;
+import com.betting.betting_services.service.BetIdempotencyIndex;
 import com.betting.betting_services.service.BetService;
+import com.betting.betting_services.service.BetSubmitter;
+import com.betting.betting_services.service.DatabaseBulkhead;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/bets")
 @RequiredArgsConstructor
 @Slf4j
 public class BetController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final BetService betService;
+    private final BetSubmitter betSubmitter;
+    private final BetIdempotencyIndex betIdempotencyIndex;
+    private final DatabaseBulkhead databaseBulkhead;
+    private final BatchLockRetry batchLockRetry;
 
     @PostMapping
-    public ResponseEntity<ApiResponse<BetDto>> placeBet(@Valid @RequestBody BetDto betDto) {
+    public CompletableFuture<ResponseEntity<ApiResponse<BetDto>>> placeBet(
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody BetDto betDto) {
         log.info("Received bet request: {}", betDto);
 
-        BetDto response = betService.placeBet(betDto);
+        betDto.setIdempotencyKey(idempotencyKey);
+
+        return betIdempotencyIndex.submit(betDto, betSubmitter::submit)
+                .thenApply(response -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(response, "Bet placed successfully")));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<BetDto>>> placeBets(@Valid @RequestBody BetBatchRequest request) {
+        log.info("Received batch bet request with {} bets", request.getBets().size());
+
+        List<BetDto> response = databaseBulkhead.call(
+                () -> batchLockRetry.call(() -> betService.placeBets(request.getBets())));
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(ApiResponse.success(response, "Bet placed successfully"));
+                .body(ApiResponse.success(response, "Bets placed successfully"));
+    }
+
+    @GetMapping("/by-user/{userId}")
+    public ResponseEntity<ApiResponse<KeysetPage<BetSummary>>> getByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        log.info("Received request to list bets of user {} before ID: {}", userId, beforeId);
+
+        KeysetPage<BetSummary> page = databaseBulkhead.call(() -> betService.findByUser(userId, beforeId, limit));
+
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/by-jackpot/{jackpotId}")
+    public ResponseEntity<ApiResponse<KeysetPage<BetSummary>>> getByJackpot(
+            @PathVariable Long jackpotId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        log.info("Received request to list bets of jackpot {} before ID: {}", jackpotId, beforeId);
+
+        KeysetPage<BetSummary> page = databaseBulkhead.call(() -> betService.findByJackpot(jackpotId, beforeId, limit));
+
+        return ResponseEntity.ok(ApiResponse.success(page));
     }
 
     @GetMapping("/health")
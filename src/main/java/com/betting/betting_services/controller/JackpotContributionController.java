@@ -0,0 +1,51 @@
+package com.betting.betting_services.controller;
+
+import com.betting.betting_services.model.ApiResponse;
+import com.betting.betting_services.model.JackpotContributionSummary;
+import com.betting.betting_services.model.KeysetPage;
+import com.betting.betting_services.service.DatabaseBulkhead;
+import com.betting.betting_services.service.JackpotContributionService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/jackpot-contributions")
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotContributionController {
+
+    private final JackpotContributionService jackpotContributionService;
+    private final DatabaseBulkhead databaseBulkhead;
+
+    @GetMapping("/by-user/{userId}")
+    public ResponseEntity<ApiResponse<KeysetPage<JackpotContributionSummary>>> getByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        log.info("Received request to list contributions of user {} before ID: {}", userId, beforeId);
+
+        KeysetPage<JackpotContributionSummary> page = databaseBulkhead.call(() -> jackpotContributionService.findByUser(userId, beforeId, limit));
+
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/by-jackpot/{jackpotId}")
+    public ResponseEntity<ApiResponse<KeysetPage<JackpotContributionSummary>>> getByJackpot(
+            @PathVariable Long jackpotId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        log.info("Received request to list contributions of jackpot {} before ID: {}", jackpotId, beforeId);
+
+        KeysetPage<JackpotContributionSummary> page = databaseBulkhead.call(() -> jackpotContributionService.findByJackpot(jackpotId, beforeId, limit));
+
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+}
@@ -0,0 +1,122 @@
+package com.betting.betting_services.controller;
+
+import com.betting.betting_services.service.export.JackpotHistoryExporter;
+import com.betting.betting_services.service.export.JackpotHistoryExporter.ExportBody;
+import com.betting.betting_services.service.export.JackpotHistoryExporter.JackpotHistory;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+
+@RestController
+@RequestMapping("/api/v1/exports/jackpots/{jackpotId}")
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Value("${export.timeout:30m}")
+    private Duration exportTimeout;
+
+    private final JackpotHistoryExporter jackpotHistoryExporter;
+
+    @GetMapping("/contributions")
+    public ResponseEntity<StreamingResponseBody> exportContributions(
+            @PathVariable Long jackpotId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return export(JackpotHistory.CONTRIBUTIONS, jackpotId, from, to, acceptEncoding, request);
+    }
+
+    @GetMapping("/rewards")
+    public ResponseEntity<StreamingResponseBody> exportRewards(
+            @PathVariable Long jackpotId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return export(JackpotHistory.REWARDS, jackpotId, from, to, acceptEncoding, request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(JackpotHistory history, Long jackpotId,
+                                                         LocalDateTime from, LocalDateTime to, String acceptEncoding,
+                                                         HttpServletRequest request) {
+        log.info("Received request to export {} of jackpot {} from {} to {}", history, jackpotId, from, to);
+
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String filename = "jackpot-" + jackpotId + "-" + history.name().toLowerCase() + ".ndjson";
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        ExportBody body = jackpotHistoryExporter.export(history, jackpotId, from, to, gzip);
+        try {
+            registerAsyncHandling(request, body);
+            return response.body(body);
+        } catch (RuntimeException e) {
+            body.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives this response {@code export.timeout} instead of the default async request timeout. The interceptor
+     * runs after the default was applied and before async processing starts, when the timeout is still applied.
+     * <p>
+     * The export slot is also released when the request completes, so it is not lost when the body never runs,
+     * for example when the task executor rejects it or the request times out or fails first.
+     */
+    private void registerAsyncHandling(HttpServletRequest request, ExportBody body) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(getClass().getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(exportTimeout.toMillis());
+                            asyncWebRequest.addCompletionHandler(body::release);
+                        }
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        body.release();
+                    }
+                });
+    }
+}
@@ -2,13 +2,19 @@ package com.betting.betting_services.controller;
 
 import com.betting.betting_services.model.ApiResponse;
 import com.betting.betting_services.model.JackpotRewardDto;
+import com.betting.betting_services.model.JackpotRewardSummary;
+import com.betting.betting_services.model.KeysetPage;
+import com.betting.betting_services.service.DatabaseBulkhead;
 import com.betting.betting_services.service.JackpotRewardService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -18,13 +24,38 @@ import org.springframework.web.bind.annotation.RestController;
 public class JackpotRewardController {
 
     private final JackpotRewardService jackpotRewardService;
+    private final DatabaseBulkhead databaseBulkhead;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<JackpotRewardDto>> getJackpotRewardById(@PathVariable Long id) {
         log.info("Received request to get jackpot reward with ID: {}", id);
 
-        return jackpotRewardService.findById(id)
+        return databaseBulkhead.call(() -> jackpotRewardService.findById(id))
                 .map(reward -> ResponseEntity.ok(ApiResponse.success(reward, "Jackpot reward found")))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    @GetMapping("/by-user/{userId}")
+    public ResponseEntity<ApiResponse<KeysetPage<JackpotRewardSummary>>> getByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        log.info("Received request to list rewards of user {} before ID: {}", userId, beforeId);
+
+        KeysetPage<JackpotRewardSummary> page = databaseBulkhead.call(() -> jackpotRewardService.findByUser(userId, beforeId, limit));
+
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/by-jackpot/{jackpotId}")
+    public ResponseEntity<ApiResponse<KeysetPage<JackpotRewardSummary>>> getByJackpot(
+            @PathVariable Long jackpotId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit) {
+        log.info("Received request to list rewards of jackpot {} before ID: {}", jackpotId, beforeId);
+
+        KeysetPage<JackpotRewardSummary> page = databaseBulkhead.call(() -> jackpotRewardService.findByJackpot(jackpotId, beforeId, limit));
+
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
 }
@@ -0,0 +1,38 @@
+package com.betting.betting_services.controller;
+
+import com.betting.betting_services.service.DatabaseBulkhead;
+import com.betting.betting_services.service.stream.JackpotValueStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+@RestController
+@RequestMapping("/api/v1/jackpots")
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotStreamController {
+
+    private final JackpotValueStream jackpotValueStream;
+    private final DatabaseBulkhead databaseBulkhead;
+
+    @GetMapping(value = "/{jackpotId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamJackpotValue(@PathVariable Long jackpotId) {
+        log.info("Received request to stream values of jackpot {}", jackpotId);
+
+        // Frames are pre-serialized, so the emitter sends raw bytes instead of SseEmitter events
+        return databaseBulkhead.call(() -> jackpotValueStream.subscribe(jackpotId))
+                .map(emitter -> ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .cacheControl(CacheControl.noStore())
+                        .header("X-Accel-Buffering", "no")
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -10,7 +10,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bets")
+@Table(name = "bets", uniqueConstraints = @UniqueConstraint(
+        name = "uk_bets_idempotency_key", columnNames = "idempotency_key"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 public class Bet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bets_seq")
+    @SequenceGenerator(name = "bets_seq", sequenceName = "bets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +32,10 @@ public class Bet {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal betAmount;
 
+    // Client-supplied Idempotency-Key, unique when present
+    @Column(name = "idempotency_key", updatable = false)
+    private String idempotencyKey;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
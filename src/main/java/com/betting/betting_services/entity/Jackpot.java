@@ -2,6 +2,7 @@ package com.betting.betting_services.entity;
 
 import com.betting.betting_services.enums.JackpotContributionType;
 import com.betting.betting_services.enums.JackpotRewardType;
+import com.betting.betting_services.service.ledger.JackpotDefinitionListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +13,7 @@ import java.math.BigDecimal;
 
 @Entity
 @Table(name = "jackpots")
+@EntityListeners(JackpotDefinitionListener.class)
 @Data
 @Builder
 @NoArgsConstructor
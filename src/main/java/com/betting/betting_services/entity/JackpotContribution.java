@@ -10,7 +10,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "jackpot_contributions")
+@Table(name = "jackpot_contributions", indexes = {
+        @Index(name = "idx_jackpot_contributions_bet_id", columnList = "bet_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,7 +20,8 @@ import java.time.LocalDateTime;
 public class JackpotContribution {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jackpot_contributions_seq")
+    @SequenceGenerator(name = "jackpot_contributions_seq", sequenceName = "jackpot_contributions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,6 +42,11 @@ public class JackpotContribution {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal currentJackpotAmount;
 
+    // Reward draw of the bet, replayable with RewardRandom.replay
+    private Long drawSeed;
+
+    private Long drawPosition;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class JackpotReward {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jackpot_rewards_seq")
+    @SequenceGenerator(name = "jackpot_rewards_seq", sequenceName = "jackpot_rewards_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +34,11 @@ public class JackpotReward {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal jackpotRewardAmount;
 
+    // Reward draw of the bet, replayable with RewardRandom.replay
+    private Long drawSeed;
+
+    private Long drawPosition;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -1,5 +1,6 @@
 package com.betting.betting_services.entity;
 
+import com.betting.betting_services.enums.PayloadFormat;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "outbox_events")
+@Table(name = "outbox_events") // Partitioned table, created by schema.sql
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,7 +18,8 @@ import java.time.LocalDateTime;
 public class OutboxEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -29,8 +31,18 @@ public class OutboxEvent {
     @Column(nullable = false)
     private String eventType;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String payload;
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] payload;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private PayloadFormat payloadFormat;
+
+    /**
+     * Kafka record key; the aggregate id is used when not set.
+     */
+    @Column
+    private String messageKey;
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -48,15 +60,22 @@ public class OutboxEvent {
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
 
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
     public enum EventStatus {
         PENDING,
         PUBLISHED,
+        /**
+         * Retries exhausted; the event was published to the dead-letter topic instead.
+         */
         FAILED
     }
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        nextAttemptAt = createdAt;
         retryCount = 0;
         status = EventStatus.PENDING;
     }
@@ -2,17 +2,22 @@ package com.betting.betting_services.enums;
 
 import com.betting.betting_services.service.strategy.ContributionStrategy;
 import com.betting.betting_services.service.strategy.FixedContributionStrategy;
+import com.betting.betting_services.service.strategy.FixedMinorUnitContributionStrategy;
+import com.betting.betting_services.service.strategy.MinorUnitContributionStrategy;
 import com.betting.betting_services.service.strategy.PercentageContributionStrategy;
+import com.betting.betting_services.service.strategy.PercentageMinorUnitContributionStrategy;
 import lombok.Getter;
 
 @Getter
 public enum JackpotContributionType {
-    FIXED(new FixedContributionStrategy()),
-    PERCENTAGE(new PercentageContributionStrategy());
+    FIXED(new FixedContributionStrategy(), new FixedMinorUnitContributionStrategy()),
+    PERCENTAGE(new PercentageContributionStrategy(), new PercentageMinorUnitContributionStrategy());
 
     private final ContributionStrategy strategy;
+    private final MinorUnitContributionStrategy minorUnitStrategy;
 
-    JackpotContributionType(ContributionStrategy strategy) {
+    JackpotContributionType(ContributionStrategy strategy, MinorUnitContributionStrategy minorUnitStrategy) {
         this.strategy = strategy;
+        this.minorUnitStrategy = minorUnitStrategy;
     }
 }
@@ -1,18 +1,23 @@
 package com.betting.betting_services.enums;
 
+import com.betting.betting_services.service.strategy.FixedMinorUnitRewardStrategy;
 import com.betting.betting_services.service.strategy.FixedRewardStrategy;
+import com.betting.betting_services.service.strategy.MinorUnitRewardStrategy;
 import com.betting.betting_services.service.strategy.RewardStrategy;
+import com.betting.betting_services.service.strategy.VariableMinorUnitRewardStrategy;
 import com.betting.betting_services.service.strategy.VariableRewardStrategy;
 import lombok.Getter;
 
 @Getter
 public enum JackpotRewardType {
-    FIXED(new FixedRewardStrategy()),
-    VARIABLE(new VariableRewardStrategy());
+    FIXED(new FixedRewardStrategy(), new FixedMinorUnitRewardStrategy()),
+    VARIABLE(new VariableRewardStrategy(), new VariableMinorUnitRewardStrategy());
 
     private final RewardStrategy strategy;
+    private final MinorUnitRewardStrategy minorUnitStrategy;
 
-    JackpotRewardType(RewardStrategy strategy) {
+    JackpotRewardType(RewardStrategy strategy, MinorUnitRewardStrategy minorUnitStrategy) {
         this.strategy = strategy;
+        this.minorUnitStrategy = minorUnitStrategy;
     }
 }
@@ -0,0 +1,9 @@
+package com.betting.betting_services.enums;
+
+/**
+ * Encoding of an outbox payload, stored with the event and sent as the {@code payload-format} Kafka header.
+ */
+public enum PayloadFormat {
+    JSON,
+    BINARY
+}
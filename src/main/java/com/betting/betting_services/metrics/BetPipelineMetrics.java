@@ -0,0 +1,118 @@
+package com.betting.betting_services.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Stage timers of the bet pipeline ({@code bet.pipeline.stage}) and per-jackpot contribution and reward counters.
+ * <p>
+ * The only tags are the stage and the jackpot id, so the number of series is bounded by the number of jackpots.
+ */
+@Component
+public class BetPipelineMetrics {
+
+    public enum Stage {
+        BET_INSERT,
+        OUTBOX_INSERT,
+        /** Ledger settlement (contribution and reward draw) and the contribution row */
+        CONTRIBUTION,
+        /** The reward row of a winning bet */
+        REWARD,
+        /** Flush of pending inserts and the database commit */
+        COMMIT;
+
+        private String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final ConcurrentMap<Long, JackpotCounters> jackpotCounters = new ConcurrentHashMap<>();
+
+    public BetPipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("bet.pipeline.stage")
+                    .description("Time spent in each stage of placing a bet")
+                    .tag("stage", stage.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T time(Stage stage, Supplier<T> step) {
+        return stageTimers.get(stage).record(step);
+    }
+
+    /**
+     * Times the commit of the current transaction, from the first before-commit callback until it completes.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Timer.Sample sample;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sample = Timer.start(meterRegistry);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (sample != null) {
+                    sample.stop(stageTimers.get(Stage.COMMIT));
+                }
+            }
+        });
+    }
+
+    public void recordContribution(Long jackpotId, BigDecimal contributionAmount) {
+        JackpotCounters counters = counters(jackpotId);
+        counters.contributions.increment();
+        counters.contributionAmount.increment(contributionAmount.doubleValue());
+    }
+
+    public void recordReward(Long jackpotId, BigDecimal rewardAmount) {
+        JackpotCounters counters = counters(jackpotId);
+        counters.rewards.increment();
+        counters.rewardAmount.increment(rewardAmount.doubleValue());
+    }
+
+    private JackpotCounters counters(Long jackpotId) {
+        JackpotCounters counters = jackpotCounters.get(jackpotId);
+        return counters != null ? counters : jackpotCounters.computeIfAbsent(jackpotId, this::register);
+    }
+
+    private JackpotCounters register(Long jackpotId) {
+        String jackpot = jackpotId.toString();
+        return new JackpotCounters(
+                Counter.builder("jackpot.contributions").description("Contributions made to a jackpot")
+                        .tag("jackpot", jackpot).register(meterRegistry),
+                Counter.builder("jackpot.contribution.amount").description("Total amount contributed to a jackpot")
+                        .tag("jackpot", jackpot).register(meterRegistry),
+                Counter.builder("jackpot.rewards").description("Rewards paid out by a jackpot")
+                        .tag("jackpot", jackpot).register(meterRegistry),
+                Counter.builder("jackpot.reward.amount").description("Total amount paid out by a jackpot")
+                        .tag("jackpot", jackpot).register(meterRegistry));
+    }
+
+    private record JackpotCounters(Counter contributions, Counter contributionAmount,
+                                   Counter rewards, Counter rewardAmount) {
+    }
+}
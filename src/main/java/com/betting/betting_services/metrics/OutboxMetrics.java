@@ -0,0 +1,79 @@
+package com.betting.betting_services.metrics;
+
+import com.betting.betting_services.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox backlog gauges and the send-to-acknowledgement latency of the relay ({@code outbox.publish.ack}).
+ * <p>
+ * The backlog is queried every {@code outbox.metrics.refresh-interval-ms} rather than on every scrape, so
+ * scrapes never hit the database. Nodes that do not relay the outbox can turn the backlog queries off with
+ * {@code outbox.metrics.backlog.enabled=false}.
+ */
+@Component
+@Slf4j
+public class OutboxMetrics {
+
+    @Value("${outbox.metrics.backlog.enabled:true}")
+    private boolean backlogEnabled;
+
+    private final MeterRegistry meterRegistry;
+    private final OutboxEventRepository outboxEventRepository;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+    private final ConcurrentMap<String, Timer[]> ackTimers = new ConcurrentHashMap<>();
+
+    public OutboxMetrics(MeterRegistry meterRegistry, OutboxEventRepository outboxEventRepository) {
+        this.meterRegistry = meterRegistry;
+        this.outboxEventRepository = outboxEventRepository;
+
+        Gauge.builder("outbox.pending", pendingCount, AtomicLong::get)
+                .description("Outbox events waiting to be published")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.pending.oldest.age", oldestPendingAgeMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest outbox event waiting to be published")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.metrics.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!backlogEnabled) {
+            return;
+        }
+
+        try {
+            pendingCount.set(outboxEventRepository.countPending());
+            oldestPendingAgeMs.set(outboxEventRepository.findOldestPendingCreatedAt()
+                    .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis()))
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh outbox backlog metrics", e);
+        }
+    }
+
+    public void recordAck(String topic, long nanos, boolean acknowledged) {
+        Timer[] timers = ackTimers.computeIfAbsent(topic, key -> new Timer[]{ackTimer(key, "failure"), ackTimer(key, "success")});
+        timers[acknowledged ? 1 : 0].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer ackTimer(String topic, String outcome) {
+        return Timer.builder("outbox.publish.ack")
+                .description("Time from sending an outbox event to Kafka until the send completed")
+                .tags("topic", topic, "outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.betting.betting_services.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BetBatchRequest {
+
+    public static final int MAX_BETS = 1000;
+
+    @NotEmpty(message = "At least one bet is required")
+    @Size(max = MAX_BETS, message = "A batch may contain at most " + MAX_BETS + " bets")
+    private List<@Valid BetDto> bets;
+}
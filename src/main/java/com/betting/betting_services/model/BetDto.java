@@ -1,6 +1,8 @@
 package com.betting.betting_services.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,7 +28,13 @@ public class BetDto {
 
     @NotNull(message = "Bet amount is required")
     @DecimalMin(value = "0.01", message = "Bet amount must be greater than 0")
+    // Keeps the amount in cents within a long, as the ledgers and the binary bet message carry it
+    @Digits(integer = 16, fraction = 2, message = "Bet amount must have at most 16 integer and 2 fraction digits")
     private BigDecimal betAmount;
 
+    // Taken from the Idempotency-Key header only
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String idempotencyKey;
+
     private LocalDateTime createdAt;
 }
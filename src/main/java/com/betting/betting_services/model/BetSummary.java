@@ -0,0 +1,10 @@
+package com.betting.betting_services.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the bet listings, limited to the columns included in their covering indexes.
+ */
+public record BetSummary(Long id, Long userId, Long jackpotId, BigDecimal betAmount, LocalDateTime createdAt) {
+}
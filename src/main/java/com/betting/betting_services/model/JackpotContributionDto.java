@@ -39,5 +39,9 @@ public class JackpotContributionDto {
     @DecimalMin(value = "0.0", inclusive = false, message = "Current jackpot amount must be greater than 0")
     private BigDecimal currentJackpotAmount;
 
+    private Long drawSeed;
+
+    private Long drawPosition;
+
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,12 @@
+package com.betting.betting_services.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the contribution listings, limited to the columns included in their covering indexes.
+ */
+public record JackpotContributionSummary(Long id, Long betId, Long userId, Long jackpotId, BigDecimal stakeAmount,
+                                         BigDecimal contributionAmount, BigDecimal currentJackpotAmount,
+                                         LocalDateTime createdAt) {
+}
@@ -31,5 +31,9 @@ public class JackpotRewardDto {
     @DecimalMin(value = "0.0", inclusive = false, message = "Jackpot reward amount must be greater than 0")
     private BigDecimal jackpotRewardAmount;
 
+    private Long drawSeed;
+
+    private Long drawPosition;
+
     private LocalDateTime createdAt;
 }
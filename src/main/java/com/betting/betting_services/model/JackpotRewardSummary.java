@@ -0,0 +1,11 @@
+package com.betting.betting_services.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the reward listings, limited to the columns included in their covering indexes.
+ */
+public record JackpotRewardSummary(Long id, Long betId, Long userId, Long jackpotId, BigDecimal jackpotRewardAmount,
+                                   LocalDateTime createdAt) {
+}
@@ -0,0 +1,43 @@
+package com.betting.betting_services.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a newest-first listing. Pass {@code nextBeforeId} as {@code beforeId} to get the next page; it is
+ * null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> items;
+    private Long nextBeforeId;
+
+    /**
+     * @param rows  up to {@code limit + 1} rows ordered by descending id; the extra row only signals a next page
+     * @param limit page size
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, id.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * @return the exclusive upper bound of the ids of a page
+     */
+    public static long upperBound(Long beforeId) {
+        return beforeId != null ? beforeId : Long.MAX_VALUE;
+    }
+}
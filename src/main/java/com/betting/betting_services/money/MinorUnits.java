@@ -0,0 +1,97 @@
+package com.betting.betting_services.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents).
+ * <p>
+ * Amounts are scale-2 values stored as their unscaled {@code long}, and rates are fractions scaled by
+ * {@link #RATE_SCALE} (so {@code 100_000} is 10%). Nothing here allocates: conversion to and from
+ * {@link BigDecimal} only happens at the API and persistence edges. All operations fail with
+ * {@link ArithmeticException} instead of silently overflowing.
+ */
+public final class MinorUnits {
+
+    /** Number of decimal places of a money amount. */
+    public static final int SCALE = 2;
+
+    /** Scale of a rate: {@code RATE_SCALE} is 100%. */
+    public static final long RATE_SCALE = 1_000_000L;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Converts an amount to minor units, rounding {@link RoundingMode#HALF_UP} to {@link #SCALE} places as the
+     * {@code numeric(19, 2)} columns do.
+     */
+    public static long of(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Converts a percentage such as {@code 10.0} to a rate, rounding {@link RoundingMode#HALF_UP}.
+     */
+    public static long rateOfPercent(BigDecimal percent) {
+        return percent.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Converts a factor such as {@code 0.5} to a rate, rounding {@link RoundingMode#HALF_UP}.
+     */
+    public static long rateOf(BigDecimal factor) {
+        return factor.movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Applies a rate to an amount: {@code amount * rate / RATE_SCALE}, rounded once with {@code roundingMode}.
+     */
+    public static long applyRate(long amount, long rate, RoundingMode roundingMode) {
+        return divide(Math.multiplyExact(amount, rate), RATE_SCALE, roundingMode);
+    }
+
+    /**
+     * Expresses {@code part} as a rate of {@code whole}: {@code part * RATE_SCALE / whole}, rounded once with
+     * {@code roundingMode}.
+     */
+    public static long rateOf(long part, long whole, RoundingMode roundingMode) {
+        return divide(Math.multiplyExact(part, RATE_SCALE), whole, roundingMode);
+    }
+
+    /**
+     * Divides with the same results as {@link BigDecimal#divide(BigDecimal, int, RoundingMode)} at scale 0.
+     *
+     * @throws ArithmeticException if {@code divisor} is zero or rounding is {@link RoundingMode#UNNECESSARY} and
+     *                             the division is not exact
+     */
+    public static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // Sign of the exact result, and how the discarded fraction compares to one half
+        int signum = (dividend ^ divisor) < 0 ? -1 : 1;
+        int half = Long.compare(Math.abs(remainder), Math.abs(divisor) - Math.abs(remainder));
+
+        boolean increment = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> signum > 0;
+            case FLOOR -> signum < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+
+        return increment ? quotient + signum : quotient;
+    }
+}
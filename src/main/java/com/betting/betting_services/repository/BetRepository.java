@@ -1,9 +1,28 @@
 package com.betting.betting_services.repository;
 
 import com.betting.betting_services.entity.Bet;
+import com.betting.betting_services.model.BetSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface BetRepository extends JpaRepository<Bet, Long> {
+
+    Optional<Bet> findByIdempotencyKey(String idempotencyKey);
+
+    // Keyset pages, newest first. Served by index-only scans of the covering indexes in schema.sql.
+    @Query("SELECT new com.betting.betting_services.model.BetSummary(" +
+            "b.id, b.userId, b.jackpotId, b.betAmount, b.createdAt) " +
+            "FROM Bet b WHERE b.userId = :userId AND b.id < :beforeId ORDER BY b.id DESC")
+    List<BetSummary> findPageByUserId(Long userId, long beforeId, Limit limit);
+
+    @Query("SELECT new com.betting.betting_services.model.BetSummary(" +
+            "b.id, b.userId, b.jackpotId, b.betAmount, b.createdAt) " +
+            "FROM Bet b WHERE b.jackpotId = :jackpotId AND b.id < :beforeId ORDER BY b.id DESC")
+    List<BetSummary> findPageByJackpotId(Long jackpotId, long beforeId, Limit limit);
 }
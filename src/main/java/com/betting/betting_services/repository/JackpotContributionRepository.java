@@ -1,9 +1,32 @@
 package com.betting.betting_services.repository;
 
 import com.betting.betting_services.entity.JackpotContribution;
+import com.betting.betting_services.model.JackpotContributionSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
 public interface JackpotContributionRepository extends JpaRepository<JackpotContribution, Long> {
+
+    @Query("SELECT c.betId FROM JackpotContribution c WHERE c.betId IN :betIds")
+    Set<Long> findContributedBetIds(Collection<Long> betIds);
+
+    // Keyset pages, newest first. Served by index-only scans of the covering indexes in schema.sql.
+    @Query("SELECT new com.betting.betting_services.model.JackpotContributionSummary(" +
+            "c.id, c.betId, c.userId, c.jackpotId, c.stakeAmount, c.contributionAmount, " +
+            "c.currentJackpotAmount, c.createdAt) " +
+            "FROM JackpotContribution c WHERE c.userId = :userId AND c.id < :beforeId ORDER BY c.id DESC")
+    List<JackpotContributionSummary> findPageByUserId(Long userId, long beforeId, Limit limit);
+
+    @Query("SELECT new com.betting.betting_services.model.JackpotContributionSummary(" +
+            "c.id, c.betId, c.userId, c.jackpotId, c.stakeAmount, c.contributionAmount, " +
+            "c.currentJackpotAmount, c.createdAt) " +
+            "FROM JackpotContribution c WHERE c.jackpotId = :jackpotId AND c.id < :beforeId ORDER BY c.id DESC")
+    List<JackpotContributionSummary> findPageByJackpotId(Long jackpotId, long beforeId, Limit limit);
 }
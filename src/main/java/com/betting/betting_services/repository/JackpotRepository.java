@@ -1,9 +1,87 @@
 package com.betting.betting_services.repository;
 
 import com.betting.betting_services.entity.Jackpot;
+import com.betting.betting_services.service.ledger.JackpotDefinition;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
 
 @Repository
 public interface JackpotRepository extends JpaRepository<Jackpot, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Jackpot j SET j.currentJackpotValue = :value WHERE j.id = :id")
+    int updateCurrentJackpotValue(Long id, BigDecimal value);
+
+    @Query("SELECT new com.betting.betting_services.service.ledger.JackpotDefinition(" +
+            "j.id, j.initialJackpotValue, j.maxJackpotValue, j.jackpotContributionType, j.jackpotRewardType) " +
+            "FROM Jackpot j WHERE j.id = :id")
+    Optional<JackpotDefinition> findDefinitionById(Long id);
+
+    @Query("SELECT j.currentJackpotValue FROM Jackpot j WHERE j.id = :id")
+    Optional<BigDecimal> findCurrentJackpotValueById(Long id);
+
+    /**
+     * Applies a contribution and, if {@code rewarded}, resets the pool to its initial value in one statement.
+     * The update only happens if the pool still holds {@code expectedValue}, so concurrent bets never lose updates.
+     * The query space is declared so pending inserts of other tables are not flushed early and stay batched.
+     *
+     * @return the new pool value, or empty if the pool was changed concurrently
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jackpots"))
+    @Query(value = "UPDATE jackpots SET current_jackpot_value = " +
+            "CASE WHEN :rewarded THEN initial_jackpot_value ELSE current_jackpot_value + :contributionAmount END " +
+            "WHERE id = :id AND current_jackpot_value = :expectedValue " +
+            "RETURNING current_jackpot_value", nativeQuery = true)
+    Optional<BigDecimal> settle(Long id, BigDecimal expectedValue, BigDecimal contributionAmount, boolean rewarded);
+
+    /**
+     * @return the pool value including the deltas of its counter shards, which only sharded jackpots have
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jackpots"))
+    @Query(value = "SELECT j.current_jackpot_value + " +
+            "COALESCE((SELECT SUM(s.delta) FROM jackpot_counter_shards s WHERE s.jackpot_id = j.id), 0) " +
+            "FROM jackpots j WHERE j.id = :id", nativeQuery = true)
+    Optional<BigDecimal> findTotalJackpotValueById(Long id);
+
+    /**
+     * Adds {@code amount} to one counter shard of a sharded jackpot, creating the shard on first use.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jackpot_counter_shards"))
+    @Query(value = "INSERT INTO jackpot_counter_shards (jackpot_id, shard, delta) VALUES (:id, :shard, :amount) " +
+            "ON CONFLICT (jackpot_id, shard) DO UPDATE SET delta = jackpot_counter_shards.delta + EXCLUDED.delta",
+            nativeQuery = true)
+    int addToCounterShard(Long id, int shard, BigDecimal amount);
+
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jackpots"))
+    @Query(value = "SELECT current_jackpot_value FROM jackpots WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<BigDecimal> lockCurrentJackpotValueById(Long id);
+
+    /**
+     * Resets a sharded jackpot to {@code initialValue}, deleting its counter shards in the same statement. Shards
+     * updated by contributions still in flight are waited for and merged with their latest delta; a shard created
+     * after the statement started counts towards the new pool.
+     *
+     * @return the sum of the merged shards
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jackpots"))
+    @Query(value = "WITH merged AS (DELETE FROM jackpot_counter_shards WHERE jackpot_id = :id RETURNING delta) " +
+            "UPDATE jackpots SET current_jackpot_value = :initialValue " +
+            "FROM (SELECT COALESCE(SUM(delta), 0) AS total FROM merged) s " +
+            "WHERE id = :id RETURNING s.total", nativeQuery = true)
+    Optional<BigDecimal> resetShardedJackpotValue(Long id, BigDecimal initialValue);
 }
@@ -1,9 +1,25 @@
 package com.betting.betting_services.repository;
 
 import com.betting.betting_services.entity.JackpotReward;
+import com.betting.betting_services.model.JackpotRewardSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface JackpotRewardRepository extends JpaRepository<JackpotReward, Long> {
+
+    // Keyset pages, newest first. Served by index-only scans of the covering indexes in schema.sql.
+    @Query("SELECT new com.betting.betting_services.model.JackpotRewardSummary(" +
+            "r.id, r.betId, r.userId, r.jackpotId, r.jackpotRewardAmount, r.createdAt) " +
+            "FROM JackpotReward r WHERE r.userId = :userId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<JackpotRewardSummary> findPageByUserId(Long userId, long beforeId, Limit limit);
+
+    @Query("SELECT new com.betting.betting_services.model.JackpotRewardSummary(" +
+            "r.id, r.betId, r.userId, r.jackpotId, r.jackpotRewardAmount, r.createdAt) " +
+            "FROM JackpotReward r WHERE r.jackpotId = :jackpotId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<JackpotRewardSummary> findPageByJackpotId(Long jackpotId, long beforeId, Limit limit);
 }
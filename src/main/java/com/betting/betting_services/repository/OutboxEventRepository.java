@@ -2,14 +2,52 @@ package com.betting.betting_services.repository;
 
 import com.betting.betting_services.entity.OutboxEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
 
-    @Query("SELECT o FROM OutboxEvent o WHERE o.status = 'PENDING' OR (o.status = 'FAILED' AND o.retryCount < 3) ORDER BY o.createdAt ASC")
-    List<OutboxEvent> findPendingEvents();
+    /**
+     * Claims up to {@code batchSize} pending events that are due at {@code now}. Rows stay locked until the calling
+     * transaction ends, and rows already locked by another relay instance are skipped instead of waited for.
+     * Only events of shard {@code shardIndex} of {@code shardCount}, by event id, are claimed.
+     */
+    @Query(value = "SELECT * FROM outbox_events " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now AND mod(id, :shardCount) = :shardIndex " +
+            "ORDER BY next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimPendingEvents(int batchSize, LocalDateTime now, int shardCount, int shardIndex);
+
+    @Query(value = "SELECT count(*) FROM outbox_events WHERE status = 'PENDING'", nativeQuery = true)
+    long countPending();
+
+    @Query(value = "SELECT min(created_at) FROM outbox_events WHERE status = 'PENDING'", nativeQuery = true)
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET status = 'PUBLISHED', published_at = :publishedAt " +
+            "WHERE id IN (:ids)", nativeQuery = true)
+    int markAsPublished(Collection<Long> ids, LocalDateTime publishedAt);
+
+    /**
+     * Schedules the next attempt with exponential backoff and equal jitter:
+     * {@code min(maxDelay, baseDelay * 2^retryCount)}, of which a random upper half is added.
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET retry_count = retry_count + 1, error_message = :errorMessage, " +
+            "next_attempt_at = CAST(:now AS timestamp) + make_interval(secs => " +
+            "LEAST(:maxDelayMs, :baseDelayMs * power(2, retry_count)) / 1000.0 * (0.5 + random() / 2)) " +
+            "WHERE id IN (:ids)", nativeQuery = true)
+    int scheduleRetry(Collection<Long> ids, String errorMessage, LocalDateTime now, long baseDelayMs, long maxDelayMs);
+
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET status = 'FAILED', retry_count = retry_count + 1, " +
+            "error_message = :errorMessage, published_at = :publishedAt WHERE id IN (:ids)", nativeQuery = true)
+    int markAsDeadLettered(Collection<Long> ids, String errorMessage, LocalDateTime publishedAt);
 }
@@ -0,0 +1,45 @@
+package com.betting.betting_services.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Retries transactions that settle several bets when the database aborts them on a lock conflict.
+ * <p>
+ * Such a transaction keeps the row locks of its earlier bets while a later bet waits for another one, for example
+ * the counter shard of a contribution while a win on a sharded jackpot waits for the {@code jackpots} row. When
+ * PostgreSQL breaks the resulting deadlock, or a lock wait times out, the whole transaction has rolled back and is
+ * run again, up to {@code bet.batch.lock-retry.max-attempts} times in total. The work must open its own transaction.
+ */
+@Component
+@Slf4j
+public class BatchLockRetry {
+
+    @Value("${bet.batch.lock-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    public <T> T call(Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (PessimisticLockingFailureException e) {
+                // Covers CannotAcquireLockException and deadlock aborts
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Batch transaction lost a lock conflict, retrying (attempt {}): {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+    public void run(Runnable transaction) {
+        call(() -> {
+            transaction.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.model.BetDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Makes bet placement idempotent per client {@code Idempotency-Key}.
+ * <p>
+ * The first tier is a bounded in-memory index of recent keys ({@code bet.idempotency.max-size}, kept for
+ * {@code bet.idempotency.expire-after-write}) holding the future of the bet placed with each key. A retry of an
+ * in-flight or recently placed bet gets that same future and never reaches the database.
+ * <p>
+ * The second tier is the unique index on {@code bets.idempotency_key}. A key evicted from memory, placed before a
+ * restart or placed by another instance fails the insert, which both {@link BetService#placeBet} and
+ * {@link BetService#placeBets} flush before settling, so the transaction rolls back before any jackpot is touched
+ * and the stored bet is returned instead.
+ * <p>
+ * A key reused with a different user, jackpot or amount is rejected with {@link IdempotencyKeyReusedException}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BetIdempotencyIndex {
+
+    @Value("${bet.idempotency.max-size:100000}")
+    private long maxSize;
+
+    @Value("${bet.idempotency.expire-after-write:1h}")
+    private Duration expireAfterWrite;
+
+    @Value("${bet.idempotency.max-key-length:255}")
+    private int maxKeyLength;
+
+    private final BetService betService;
+    private final DatabaseBulkhead databaseBulkhead;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, CompletableFuture<BetDto>> recentKeys;
+    private Counter memoryReplays;
+    private Counter databaseReplays;
+
+    @PostConstruct
+    void init() {
+        recentKeys = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentKeys, "bet.idempotency.keys");
+
+        memoryReplays = Counter.builder("bet.idempotency.replays")
+                .description("Bets returned for a repeated Idempotency-Key instead of being placed again")
+                .tag("source", "memory")
+                .register(meterRegistry);
+        databaseReplays = Counter.builder("bet.idempotency.replays")
+                .description("Bets returned for a repeated Idempotency-Key instead of being placed again")
+                .tag("source", "database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Places {@code bet} with {@code placement} unless a bet with the same key was placed already.
+     *
+     * @return the placed bet, or the bet originally placed with the bet's idempotency key
+     */
+    public CompletableFuture<BetDto> submit(BetDto bet, Function<BetDto, CompletableFuture<BetDto>> placement) {
+        String key = bet.getIdempotencyKey();
+        if (key == null) {
+            return placement.apply(bet);
+        }
+
+        if (key.isBlank() || key.length() > maxKeyLength) {
+            return CompletableFuture.failedFuture(new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be 1 to " + maxKeyLength + " characters"));
+        }
+
+        CompletableFuture<BetDto> result = new CompletableFuture<>();
+        CompletableFuture<BetDto> existing = recentKeys.asMap().putIfAbsent(key, result);
+
+        if (existing != null) {
+            memoryReplays.increment();
+            log.info("Replaying bet for Idempotency-Key: {}", key);
+            return existing.thenApply(placed -> matching(bet, placed));
+        }
+
+        place(bet, placement).whenComplete((placed, error) -> {
+            if (error != null) {
+                // Let a retry try again
+                recentKeys.asMap().remove(key, result);
+                result.completeExceptionally(error);
+            } else {
+                result.complete(placed);
+            }
+        });
+
+        return result;
+    }
+
+    private CompletableFuture<BetDto> place(BetDto bet, Function<BetDto, CompletableFuture<BetDto>> placement) {
+        CompletableFuture<BetDto> placed;
+        try {
+            placed = placement.apply(bet);
+        } catch (RuntimeException e) {
+            placed = CompletableFuture.failedFuture(e);
+        }
+
+        return placed.exceptionallyCompose(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+            if (!(cause instanceof DataIntegrityViolationException)) {
+                return CompletableFuture.failedFuture(cause);
+            }
+
+            // Another instance, or this one before the key was evicted, placed the bet already
+            return databaseBulkhead.call(() -> betService.findByIdempotencyKey(bet.getIdempotencyKey()))
+                    .map(stored -> {
+                        databaseReplays.increment();
+                        log.info("Replaying stored bet ID: {} for Idempotency-Key: {}", stored.getId(), stored.getIdempotencyKey());
+                        return CompletableFuture.completedFuture(matching(bet, stored));
+                    })
+                    .orElseGet(() -> CompletableFuture.failedFuture(cause));
+        });
+    }
+
+    private BetDto matching(BetDto requested, BetDto placed) {
+        boolean sameBet = Objects.equals(requested.getUserId(), placed.getUserId())
+                && Objects.equals(requested.getJackpotId(), placed.getJackpotId())
+                && requested.getBetAmount() != null
+                && requested.getBetAmount().compareTo(placed.getBetAmount()) == 0;
+
+        if (!sameBet) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + requested.getIdempotencyKey() + " was already used for a different bet");
+        }
+
+        return placed;
+    }
+}
@@ -0,0 +1,33 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.entity.Bet;
+import com.betting.betting_services.model.BetDto;
+
+/**
+ * Maps bets between the API model and the entity, once per placed bet.
+ */
+public final class BetMapper {
+
+    private BetMapper() {
+    }
+
+    public static Bet toBet(BetDto betDto) {
+        return Bet.builder()
+                .userId(betDto.getUserId())
+                .jackpotId(betDto.getJackpotId())
+                .betAmount(betDto.getBetAmount())
+                .idempotencyKey(betDto.getIdempotencyKey())
+                .build();
+    }
+
+    public static BetDto toDto(Bet savedBet) {
+        return BetDto.builder()
+                .id(savedBet.getId())
+                .userId(savedBet.getUserId())
+                .jackpotId(savedBet.getJackpotId())
+                .betAmount(savedBet.getBetAmount())
+                .idempotencyKey(savedBet.getIdempotencyKey())
+                .createdAt(savedBet.getCreatedAt())
+                .build();
+    }
+}
@@ -1,9 +1,27 @@
 package com.betting.betting_services.service;
 
 import com.betting.betting_services.model.BetDto;
+import com.betting.betting_services.model.BetSummary;
+import com.betting.betting_services.model.KeysetPage;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface BetService {
 
     BetDto placeBet(BetDto betDto);
-}
 
+    /**
+     * Places all bets in one transaction so bets, outbox events and contributions are written with batched inserts.
+     */
+    List<BetDto> placeBets(List<BetDto> betDtos);
+
+    Optional<BetDto> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * @return up to {@code limit} bets of the user with an id below {@code beforeId}, newest first
+     */
+    KeysetPage<BetSummary> findByUser(Long userId, Long beforeId, int limit);
+
+    KeysetPage<BetSummary> findByJackpot(Long jackpotId, Long beforeId, int limit);
+}
@@ -1,30 +1,47 @@
 package com.betting.betting_services.service;
 
+import com.betting.betting_services.codec.BetMessageCodec;
 import com.betting.betting_services.entity.Bet;
 import com.betting.betting_services.entity.OutboxEvent;
+import com.betting.betting_services.metrics.BetPipelineMetrics;
+import com.betting.betting_services.metrics.BetPipelineMetrics.Stage;
 import com.betting.betting_services.model.BetDto;
 import com.betting.betting_services.model.BetMessage;
-import com.betting.betting_services.model.JackpotContributionDto;
-import com.betting.betting_services.model.JackpotRewardDto;
+import com.betting.betting_services.model.BetSummary;
+import com.betting.betting_services.model.KeysetPage;
 import com.betting.betting_services.repository.BetRepository;
 import com.betting.betting_services.repository.OutboxEventRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BetServiceImpl implements BetService {
 
+    private static final String PIPELINE_MODE_ASYNC = "async";
+    private static final Comparator<BetDto> SETTLEMENT_ORDER =
+            Comparator.comparing(BetDto::getJackpotId).thenComparing(BetDto::getId);
+
+    @Value("${jackpot.pipeline.mode:sync}")
+    private String pipelineMode;
+
     private final BetRepository betRepository;
     private final OutboxEventRepository outboxEventRepository;
-    private final ObjectMapper objectMapper;
-    private final JackpotContributionService jackpotContributionService;
-    private final JackpotRewardService jackpotRewardService;
+    private final BetMessageCodec betMessageCodec;
+    private final JackpotSettlementService jackpotSettlementService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BetPipelineMetrics pipelineMetrics;
 
     @Override
     @Transactional
@@ -32,16 +49,86 @@ public class BetServiceImpl implements BetService {
         log.info("Placing bet for user: {}, jackpot: {}, amount: {}",
                 betDto.getUserId(), betDto.getJackpotId(), betDto.getBetAmount());
 
-        // Save bet to database
-        Bet bet = Bet.builder()
-                .userId(betDto.getUserId())
-                .jackpotId(betDto.getJackpotId())
-                .betAmount(betDto.getBetAmount())
-                .build();
+        pipelineMetrics.timeCommit();
 
-        Bet savedBet = betRepository.save(bet);
+        // Save bet to database. Flushed so each insert is timed on its own and a reused idempotency key fails
+        // before settling; each flush is its own round trip, which placeBets avoids by flushing once per batch.
+        Bet savedBet = pipelineMetrics.time(Stage.BET_INSERT,
+                () -> betRepository.saveAndFlush(BetMapper.toBet(betDto)));
         log.info("Bet saved with ID: {}", savedBet.getId());
 
+        // Save to outbox table (will be published to Kafka asynchronously)
+        pipelineMetrics.time(Stage.OUTBOX_INSERT, () -> outboxEventRepository.saveAndFlush(toOutboxEvent(savedBet)));
+        log.info("Outbox event created for bet ID: {}", savedBet.getId());
+
+        // Wake the outbox relay once this transaction commits
+        eventPublisher.publishEvent(new OutboxEventsCreated(1));
+
+        BetDto savedBetDto = BetMapper.toDto(savedBet);
+        settle(savedBetDto);
+
+        return savedBetDto;
+    }
+
+    @Override
+    @Transactional
+    public List<BetDto> placeBets(List<BetDto> betDtos) {
+        log.info("Placing batch of {} bets", betDtos.size());
+        pipelineMetrics.timeCommit();
+
+        // Ids come from pooled sequences, so these inserts are sent as JDBC batches on flush
+        List<Bet> savedBets = betRepository.saveAll(betDtos.stream().map(BetMapper::toBet).toList());
+        outboxEventRepository.saveAll(savedBets.stream().map(this::toOutboxEvent).toList());
+        // Flushed before settling so a reused idempotency key fails the batch before any jackpot is touched
+        betRepository.flush();
+        eventPublisher.publishEvent(new OutboxEventsCreated(savedBets.size()));
+
+        List<BetDto> savedBetDtos = savedBets.stream().map(BetMapper::toDto).toList();
+        // Settled in jackpot id order: each settlement holds its jackpot row lock until commit, so batches
+        // touching the same jackpots always lock them in the same order and cannot deadlock each other
+        savedBetDtos.stream()
+                .sorted(SETTLEMENT_ORDER)
+                .forEach(this::settle);
+
+        log.info("Batch of {} bets placed", savedBetDtos.size());
+        return savedBetDtos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BetDto> findByIdempotencyKey(String idempotencyKey) {
+        return betRepository.findByIdempotencyKey(idempotencyKey).map(BetMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BetSummary> findByUser(Long userId, Long beforeId, int limit) {
+        return KeysetPage.of(betRepository.findPageByUserId(
+                userId, KeysetPage.upperBound(beforeId), Limit.of(limit + 1)), limit, BetSummary::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BetSummary> findByJackpot(Long jackpotId, Long beforeId, int limit) {
+        return KeysetPage.of(betRepository.findPageByJackpotId(
+                jackpotId, KeysetPage.upperBound(beforeId), Limit.of(limit + 1)), limit, BetSummary::id);
+    }
+
+    private void settle(BetDto savedBetDto) {
+        if (asyncPipeline()) {
+            // The jackpot pipeline settles the bet when it consumes the outbox event
+            log.debug("Jackpot settlement of bet ID: {} deferred to the jackpot pipeline", savedBetDto.getId());
+            return;
+        }
+
+        jackpotSettlementService.settle(savedBetDto);
+    }
+
+    private boolean asyncPipeline() {
+        return PIPELINE_MODE_ASYNC.equals(pipelineMode);
+    }
+
+    private OutboxEvent toOutboxEvent(Bet savedBet) {
         // Create message for Kafka
         BetMessage message = BetMessage.builder()
                 .betId(savedBet.getId())
@@ -50,47 +137,22 @@ public class BetServiceImpl implements BetService {
                 .betAmount(savedBet.getBetAmount())
                 .build();
 
-        // Save to outbox table (will be published to Kafka asynchronously)
         try {
-            String payload = objectMapper.writeValueAsString(message);
+            byte[] payload = betMessageCodec.encode(message);
 
-            OutboxEvent outboxEvent = OutboxEvent.builder()
+            return OutboxEvent.builder()
                     .aggregateType("Bet")
                     .aggregateId(savedBet.getId().toString())
                     .eventType("BetPlaced")
+                    // Keyed by jackpot in async mode so every bet of a jackpot lands on the same partition
+                    .messageKey(asyncPipeline() ? savedBet.getJackpotId().toString() : null)
                     .payload(payload)
+                    .payloadFormat(betMessageCodec.getFormat())
                     .build();
 
-            outboxEventRepository.save(outboxEvent);
-            log.info("Outbox event created for bet ID: {}", savedBet.getId());
-
         } catch (JsonProcessingException e) {
             log.error("Error serializing bet message", e);
             throw new RuntimeException("Failed to create outbox event", e);
         }
-
-        BetDto savedBetDto = BetDto.builder()
-                .id(savedBet.getId())
-                .userId(savedBet.getUserId())
-                .jackpotId(savedBet.getJackpotId())
-                .betAmount(savedBet.getBetAmount())
-                .createdAt(savedBet.getCreatedAt())
-                .build();
-
-        // Step 2: Contribute to jackpot pool
-        jackpotContributionService.contribute(savedBetDto)
-                .ifPresentOrElse(
-                        contribution -> log.info("Jackpot contribution successful: {}", contribution),
-                        () -> log.warn("No jackpot contribution made for bet ID: {}", savedBetDto.getId())
-                );
-
-        // Step 3: Evaluate for jackpot reward
-        jackpotRewardService.evaluate(savedBetDto)
-                .ifPresentOrElse(
-                        reward -> log.info("Jackpot reward awarded: {}", reward),
-                        () -> log.debug("Bet ID: {} not eligible for jackpot reward", savedBetDto.getId())
-                );
-
-        return savedBetDto;
     }
 }
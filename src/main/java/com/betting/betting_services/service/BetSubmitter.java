@@ -0,0 +1,17 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.model.BetDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Accepts single bets from the API, either in their own transaction or group-committed with concurrent bets
+ * ({@code bet.group-commit.enabled}).
+ */
+public interface BetSubmitter {
+
+    /**
+     * @return the placed bet, completed once its transaction has committed
+     */
+    CompletableFuture<BetDto> submit(BetDto bet);
+}
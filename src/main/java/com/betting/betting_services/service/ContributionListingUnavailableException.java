@@ -0,0 +1,16 @@
+package com.betting.betting_services.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when contributions are listed while {@code jackpot.contribution.storage=journal}. The journal is trimmed
+ * after its retention window and has no per-user or per-jackpot index, so it cannot serve the listings.
+ */
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class ContributionListingUnavailableException extends RuntimeException {
+
+    public ContributionListingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.betting.betting_services.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of requests working against the database at once.
+ * <p>
+ * With virtual threads the number of concurrent requests is no longer bounded by the Tomcat pool, so every
+ * waiting request would otherwise queue inside Hikari and time out there. The bulkhead admits as many callers as
+ * the pool has connections, minus {@code database.bulkhead.reserved-connections} kept free for the outbox relay
+ * and other background work, and minus the {@code export.max-concurrent} connections that history exports hold
+ * outside the bulkhead. Callers that cannot get a permit within {@code database.bulkhead.acquire-timeout-ms}
+ * fail fast with {@link DatabaseBusyException}.
+ */
+@Component
+@Slf4j
+public class DatabaseBulkhead {
+
+    private final boolean enabled;
+    private final long acquireTimeoutMs;
+    private final Semaphore permits;
+
+    public DatabaseBulkhead(@Value("${database.bulkhead.enabled:true}") boolean enabled,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                            @Value("${database.bulkhead.reserved-connections:2}") int reservedConnections,
+                            @Value("${export.max-concurrent:2}") int exportConnections,
+                            @Value("${database.bulkhead.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(Math.max(1, poolSize - reservedConnections - exportConnections));
+
+        Gauge.builder("database.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Database bulkhead permits currently free")
+                .register(meterRegistry);
+        Gauge.builder("database.bulkhead.queued", permits, Semaphore::getQueueLength)
+                .description("Callers waiting for a database bulkhead permit")
+                .register(meterRegistry);
+
+        log.info("Database bulkhead {} with {} permits", enabled ? "enabled" : "disabled", permits.availablePermits());
+    }
+
+    public <T> T call(Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new DatabaseBusyException("No database capacity within " + acquireTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting for database capacity");
+        }
+    }
+}
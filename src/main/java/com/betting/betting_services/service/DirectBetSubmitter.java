@@ -0,0 +1,25 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.model.BetDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Places every bet in its own transaction on the calling thread.
+ */
+@Component
+@ConditionalOnProperty(name = "bet.group-commit.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DirectBetSubmitter implements BetSubmitter {
+
+    private final BetService betService;
+    private final DatabaseBulkhead databaseBulkhead;
+
+    @Override
+    public CompletableFuture<BetDto> submit(BetDto bet) {
+        return CompletableFuture.completedFuture(databaseBulkhead.call(() -> betService.placeBet(bet)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.entity.JackpotContribution;
+import com.betting.betting_services.model.JackpotContributionDto;
+import com.betting.betting_services.repository.JackpotContributionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Stores every contribution as a {@link JackpotContribution} entity.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.contribution.storage", havingValue = "entity", matchIfMissing = true)
+@RequiredArgsConstructor
+public class EntityJackpotContributionStore implements JackpotContributionStore {
+
+    private final JackpotContributionRepository jackpotContributionRepository;
+
+    @Override
+    public JackpotContributionDto save(JackpotContributionDto contribution) {
+        JackpotContribution savedContribution = jackpotContributionRepository.save(JackpotContribution.builder()
+                .betId(contribution.getBetId())
+                .userId(contribution.getUserId())
+                .jackpotId(contribution.getJackpotId())
+                .stakeAmount(contribution.getStakeAmount())
+                .contributionAmount(contribution.getContributionAmount())
+                .currentJackpotAmount(contribution.getCurrentJackpotAmount())
+                .drawSeed(contribution.getDrawSeed())
+                .drawPosition(contribution.getDrawPosition())
+                .build());
+
+        return JackpotContributionDto.builder()
+                .id(savedContribution.getId())
+                .betId(savedContribution.getBetId())
+                .userId(savedContribution.getUserId())
+                .jackpotId(savedContribution.getJackpotId())
+                .stakeAmount(savedContribution.getStakeAmount())
+                .contributionAmount(savedContribution.getContributionAmount())
+                .currentJackpotAmount(savedContribution.getCurrentJackpotAmount())
+                .drawSeed(savedContribution.getDrawSeed())
+                .drawPosition(savedContribution.getDrawPosition())
+                .createdAt(savedContribution.getCreatedAt())
+                .build();
+    }
+
+    @Override
+    public Set<Long> findContributedBetIds(Collection<Long> betIds) {
+        return jackpotContributionRepository.findContributedBetIds(betIds);
+    }
+}
@@ -0,0 +1,173 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.model.BetDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent bets into shared transactions so they share one commit.
+ * <p>
+ * Callers enqueue their bet and get a future back. A single committer thread takes the first waiting bet, then
+ * collects more until it has {@code bet.group-commit.max-batch-size} bets or {@code bet.group-commit.max-wait-us}
+ * have passed, and places them with {@link BetService#placeBets}. If that transaction fails, the bets are placed
+ * again one by one so a bad bet only fails its own caller. If the database bulkhead has no capacity, the whole
+ * batch fails fast with {@link DatabaseBusyException} instead.
+ */
+@Component
+@ConditionalOnProperty(name = "bet.group-commit.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GroupCommitBetSubmitter implements BetSubmitter, SmartLifecycle {
+
+    @Value("${bet.group-commit.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @Value("${bet.group-commit.max-wait-us:500}")
+    private long maxWaitMicros;
+
+    @Value("${bet.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private final BetService betService;
+    private final DatabaseBulkhead databaseBulkhead;
+    private final BatchLockRetry batchLockRetry;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingBet> queue;
+    private DistributionSummary batchSizes;
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    @PostConstruct
+    void init() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        batchSizes = DistributionSummary.builder("bet.group-commit.batch.size")
+                .description("Bets placed per group commit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<BetDto> submit(BetDto bet) {
+        PendingBet pending = new PendingBet(bet, new CompletableFuture<>());
+
+        if (!running || !queue.offer(pending)) {
+            return CompletableFuture.failedFuture(new DatabaseBusyException("Group commit queue is full"));
+        }
+
+        return pending.result;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("bet-group-commit").start(this::run);
+        log.info("Group commit started, up to {} bets or {} us per commit", maxBatchSize, maxWaitMicros);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything still queued was never placed
+        PendingBet pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new DatabaseBusyException("Shutting down"));
+        }
+        log.info("Group commit stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        List<PendingBet> batch = new ArrayList<>(maxBatchSize);
+
+        // Keeps draining after stop() so bets accepted before shutdown are still placed
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBet first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingBet next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result.completeExceptionally(new DatabaseBusyException("Interrupted")));
+                return;
+            } catch (Throwable e) {
+                // This is the only committer thread: keep it alive and never leave a caller waiting forever
+                log.error("Group commit of {} bets failed unexpectedly", batch.size(), e);
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingBet> batch) {
+        batchSizes.record(batch.size());
+
+        List<BetDto> placed;
+        try {
+            List<BetDto> bets = batch.stream().map(PendingBet::bet).toList();
+            placed = databaseBulkhead.call(() -> batchLockRetry.call(() -> betService.placeBets(bets)));
+        } catch (DatabaseBusyException e) {
+            // Placing the bets one by one would only queue for the bulkhead again, once per bet
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} bets failed, placing them one by one", batch.size(), e);
+            batch.forEach(this::commitAlone);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(placed.get(i));
+        }
+    }
+
+    private void commitAlone(PendingBet pending) {
+        try {
+            pending.result.complete(databaseBulkhead.call(() -> betService.placeBet(pending.bet)));
+        } catch (RuntimeException e) {
+            pending.result.completeExceptionally(e);
+        }
+    }
+
+    private record PendingBet(BetDto bet, CompletableFuture<BetDto> result) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.codec.BetMessageCodec;
+import com.betting.betting_services.enums.PayloadFormat;
+import com.betting.betting_services.model.BetDto;
+import com.betting.betting_services.model.BetMessage;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settles bets asynchronously from the {@code jackpot-bets} topic when {@code jackpot.pipeline.mode=async}.
+ * <p>
+ * Records are keyed by jackpot id, so each jackpot is settled by one consumer in partition order. A poll is
+ * settled in one transaction and its offsets are committed together afterwards. Redelivered bets are skipped
+ * because their contribution already exists. If the batch transaction fails, the bets are retried one by one
+ * so only the failing record is handed back to the container's error handler, which dead-letters it once its
+ * retries are exhausted (see {@code KafkaConsumerConfig}). A record that cannot be decoded is handed back as an
+ * {@link UndecodableBetException}, which is dead-lettered right away.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.pipeline.mode", havingValue = "async")
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotBetConsumer {
+
+    private final JackpotSettlementService jackpotSettlementService;
+    private final JackpotContributionStore jackpotContributionStore;
+    private final BetMessageCodec betMessageCodec;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchLockRetry batchLockRetry;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.jackpot-bets}",
+            groupId = "${jackpot.pipeline.group-id:betting-jackpot-pipeline}",
+            concurrency = "${jackpot.pipeline.concurrency:3}",
+            batch = "true")
+    public void onBets(List<ConsumerRecord<String, byte[]>> records) {
+        List<BetDto> bets = new ArrayList<>(records.size());
+        UndecodableBetException undecodable = null;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                bets.add(decode(record));
+            } catch (UndecodableBetException e) {
+                undecodable = e;
+                break;
+            }
+        }
+
+        // Only the bets before an undecodable record are settled, the error handler takes over from there
+        settle(bets);
+
+        if (undecodable != null) {
+            throw new BatchListenerFailedException(undecodable.getMessage(), undecodable, bets.size());
+        }
+    }
+
+    private void settle(List<BetDto> bets) {
+        if (bets.isEmpty()) {
+            return;
+        }
+
+        try {
+            batchLockRetry.run(() -> transactionTemplate.executeWithoutResult(status -> settleAll(bets)));
+            log.debug("Settled batch of {} bets", bets.size());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Settling batch of {} bets failed, retrying them one by one", bets.size(), e);
+        }
+
+        for (int i = 0; i < bets.size(); i++) {
+            BetDto bet = bets.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> settleAll(List.of(bet)));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Failed to settle bet ID: " + bet.getId(), e, i);
+            }
+        }
+    }
+
+    private void settleAll(List<BetDto> bets) {
+        List<Long> betIds = bets.stream().map(BetDto::getId).toList();
+
+        // The same bet can appear twice in one poll when its outbox event was sent again
+        Set<Long> settledBetIds = new HashSet<>(jackpotContributionStore.findContributedBetIds(betIds));
+
+        for (BetDto bet : bets) {
+            if (!settledBetIds.add(bet.getId())) {
+                log.info("Bet ID: {} already settled, skipping redelivery", bet.getId());
+                continue;
+            }
+            jackpotSettlementService.settle(bet);
+        }
+    }
+
+    private BetDto decode(ConsumerRecord<String, byte[]> record) {
+        try {
+            Header formatHeader = record.headers().lastHeader(BetMessageCodec.PAYLOAD_FORMAT_HEADER);
+            PayloadFormat format = BetMessageCodec.formatOf(formatHeader == null ? null : formatHeader.value());
+            BetMessage message = betMessageCodec.decode(record.value(), format);
+            return BetDto.builder()
+                    .id(message.getBetId())
+                    .userId(message.getUserId())
+                    .jackpotId(message.getJackpotId())
+                    .betAmount(message.getBetAmount())
+                    .build();
+        } catch (IOException | IllegalArgumentException e) {
+            // A payload that cannot be decoded will never succeed, so it is dead-lettered without retries
+            throw new UndecodableBetException("Undecodable bet message at " + record.topic() + "-"
+                    + record.partition() + "@" + record.offset(), e);
+        }
+    }
+}
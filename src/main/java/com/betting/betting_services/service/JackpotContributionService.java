@@ -2,10 +2,21 @@ package com.betting.betting_services.service;
 
 import com.betting.betting_services.model.BetDto;
 import com.betting.betting_services.model.JackpotContributionDto;
-
-import java.util.Optional;
+import com.betting.betting_services.model.JackpotContributionSummary;
+import com.betting.betting_services.model.KeysetPage;
+import com.betting.betting_services.service.ledger.JackpotSettlement;
 
 public interface JackpotContributionService {
 
-    Optional<JackpotContributionDto> contribute(BetDto bet);
+    /**
+     * Records the contribution of a bet that was already applied to the pool by {@code JackpotLedger.settle}.
+     */
+    JackpotContributionDto contribute(BetDto bet, JackpotSettlement settlement);
+
+    /**
+     * @return up to {@code limit} contributions of the user with an id below {@code beforeId}, newest first
+     */
+    KeysetPage<JackpotContributionSummary> findByUser(Long userId, Long beforeId, int limit);
+
+    KeysetPage<JackpotContributionSummary> findByJackpot(Long jackpotId, Long beforeId, int limit);
 }
@@ -1,77 +1,91 @@
 package com.betting.betting_services.service;
 
-import com.betting.betting_services.entity.Jackpot;
-import com.betting.betting_services.entity.JackpotContribution;
+import com.betting.betting_services.metrics.BetPipelineMetrics;
 import com.betting.betting_services.model.BetDto;
 import com.betting.betting_services.model.JackpotContributionDto;
+import com.betting.betting_services.model.JackpotContributionSummary;
+import com.betting.betting_services.model.KeysetPage;
 import com.betting.betting_services.repository.JackpotContributionRepository;
-import com.betting.betting_services.repository.JackpotRepository;
+import com.betting.betting_services.service.ledger.JackpotSettlement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JackpotContributionServiceImpl implements JackpotContributionService {
 
+    private static final String STORAGE_JOURNAL = "journal";
+
+    @Value("${jackpot.contribution.storage:entity}")
+    private String contributionStorage;
+
     private final JackpotContributionRepository jackpotContributionRepository;
-    private final JackpotRepository jackpotRepository;
+    private final JackpotContributionStore jackpotContributionStore;
+    private final BetPipelineMetrics pipelineMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
-    public Optional<JackpotContributionDto> contribute(BetDto bet) {
-        log.info("Processing jackpot contribution for bet ID: {}, jackpot ID: {}",
-                bet.getId(), bet.getJackpotId());
-
-        // Find the matching jackpot based on Jackpot ID
-        Optional<Jackpot> jackpotOptional = jackpotRepository.findById(bet.getJackpotId());
-
-        if (jackpotOptional.isEmpty()) {
-            log.warn("Jackpot not found with ID: {}. Skipping contribution.", bet.getJackpotId());
-            return Optional.empty();
-        }
+    public JackpotContributionDto contribute(BetDto bet, JackpotSettlement settlement) {
+        return record(bet, settlement.getJackpotId(),
+                settlement.getContributionAmount(), settlement.getJackpotValueAfterContribution(),
+                settlement.getDrawSeed(), settlement.getDrawPosition());
+    }
 
-        Jackpot jackpot = jackpotOptional.get();
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<JackpotContributionSummary> findByUser(Long userId, Long beforeId, int limit) {
+        requireListableStorage();
+        return KeysetPage.of(jackpotContributionRepository.findPageByUserId(
+                userId, KeysetPage.upperBound(beforeId), Limit.of(limit + 1)), limit, JackpotContributionSummary::id);
+    }
 
-        // Calculate contribution using strategy from enum
-        BigDecimal contributionAmount = jackpot.getJackpotContributionType()
-                .getStrategy()
-                .calculate(bet.getBetAmount(), jackpot.getCurrentJackpotValue(), jackpot.getInitialJackpotValue());
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<JackpotContributionSummary> findByJackpot(Long jackpotId, Long beforeId, int limit) {
+        requireListableStorage();
+        return KeysetPage.of(jackpotContributionRepository.findPageByJackpotId(
+                jackpotId, KeysetPage.upperBound(beforeId), Limit.of(limit + 1)), limit, JackpotContributionSummary::id);
+    }
 
-        // Update jackpot current value
-        BigDecimal newJackpotValue = jackpot.getCurrentJackpotValue().add(contributionAmount);
-        jackpot.setCurrentJackpotValue(newJackpotValue);
-        jackpotRepository.save(jackpot);
+    private void requireListableStorage() {
+        // In journal mode nothing is written to jackpot_contributions, an empty page would look like no contributions
+        if (STORAGE_JOURNAL.equals(contributionStorage)) {
+            throw new ContributionListingUnavailableException(
+                    "Contribution listings are not available with jackpot.contribution.storage=journal");
+        }
+    }
 
+    private JackpotContributionDto record(BetDto bet, Long jackpotId,
+                                          BigDecimal contributionAmount, BigDecimal newJackpotValue,
+                                          Long drawSeed, Long drawPosition) {
         // Create jackpot contribution record
-        JackpotContribution contribution = JackpotContribution.builder()
+        JackpotContributionDto contribution = JackpotContributionDto.builder()
                 .betId(bet.getId())
                 .userId(bet.getUserId())
-                .jackpotId(jackpot.getId())
+                .jackpotId(jackpotId)
                 .stakeAmount(bet.getBetAmount())
                 .contributionAmount(contributionAmount)
                 .currentJackpotAmount(newJackpotValue)
+                .drawSeed(drawSeed)
+                .drawPosition(drawPosition)
                 .build();
 
-        JackpotContribution savedContribution = jackpotContributionRepository.save(contribution);
+        JackpotContributionDto savedContribution = jackpotContributionStore.save(contribution);
+        pipelineMetrics.recordContribution(jackpotId, contributionAmount);
+        eventPublisher.publishEvent(new JackpotValueChanged(jackpotId, newJackpotValue));
 
         log.info("Jackpot contribution created: {} contributed to jackpot {}, new total: {}",
-                contributionAmount, jackpot.getId(), newJackpotValue);
+                contributionAmount, jackpotId, newJackpotValue);
 
-        return Optional.of(JackpotContributionDto.builder()
-                .id(savedContribution.getId())
-                .betId(savedContribution.getBetId())
-                .userId(savedContribution.getUserId())
-                .jackpotId(savedContribution.getJackpotId())
-                .stakeAmount(savedContribution.getStakeAmount())
-                .contributionAmount(savedContribution.getContributionAmount())
-                .currentJackpotAmount(savedContribution.getCurrentJackpotAmount())
-                .createdAt(savedContribution.getCreatedAt())
-                .build());
+        return savedContribution;
     }
 }
@@ -0,0 +1,23 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.model.JackpotContributionDto;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Persists contribution records, selected with {@code jackpot.contribution.storage}: {@code entity} (default)
+ * writes a {@code jackpot_contributions} row per bet, {@code journal} appends to the compact contribution journal.
+ */
+public interface JackpotContributionStore {
+
+    /**
+     * @return the stored contribution with its generated fields
+     */
+    JackpotContributionDto save(JackpotContributionDto contribution);
+
+    /**
+     * @return the IDs among {@code betIds} that already have a contribution
+     */
+    Set<Long> findContributedBetIds(Collection<Long> betIds);
+}
@@ -2,12 +2,27 @@ package com.betting.betting_services.service;
 
 import com.betting.betting_services.model.BetDto;
 import com.betting.betting_services.model.JackpotRewardDto;
+import com.betting.betting_services.model.JackpotRewardSummary;
+import com.betting.betting_services.model.KeysetPage;
+import com.betting.betting_services.service.ledger.JackpotSettlement;
 
 import java.util.Optional;
 
 public interface JackpotRewardService {
 
-    Optional<JackpotRewardDto> evaluate(BetDto bet);
+    /**
+     * Records the reward of a bet that was already settled by {@code JackpotLedger.settle}.
+     *
+     * @return the reward, or empty if the settlement did not win the jackpot
+     */
+    Optional<JackpotRewardDto> evaluate(BetDto bet, JackpotSettlement settlement);
 
     Optional<JackpotRewardDto> findById(Long id);
+
+    /**
+     * @return up to {@code limit} rewards of the user with an id below {@code beforeId}, newest first
+     */
+    KeysetPage<JackpotRewardSummary> findByUser(Long userId, Long beforeId, int limit);
+
+    KeysetPage<JackpotRewardSummary> findByJackpot(Long jackpotId, Long beforeId, int limit);
 }
@@ -1,16 +1,21 @@
 package com.betting.betting_services.service;
 
-import com.betting.betting_services.entity.Jackpot;
 import com.betting.betting_services.entity.JackpotReward;
+import com.betting.betting_services.metrics.BetPipelineMetrics;
 import com.betting.betting_services.model.BetDto;
 import com.betting.betting_services.model.JackpotRewardDto;
+import com.betting.betting_services.model.JackpotRewardSummary;
+import com.betting.betting_services.model.KeysetPage;
 import com.betting.betting_services.repository.JackpotRewardRepository;
-import com.betting.betting_services.repository.JackpotRepository;
+import com.betting.betting_services.service.ledger.JackpotSettlement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 @Service
@@ -19,66 +24,55 @@ import java.util.Optional;
 public class JackpotRewardServiceImpl implements JackpotRewardService {
 
     private final JackpotRewardRepository jackpotRewardRepository;
-    private final JackpotRepository jackpotRepository;
+    private final BetPipelineMetrics pipelineMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
-    public Optional<JackpotRewardDto> evaluate(BetDto bet) {
-        log.info("Evaluating jackpot reward eligibility for bet ID: {}, jackpot ID: {}",
-                bet.getId(), bet.getJackpotId());
-
-        // Find the jackpot
-        Optional<Jackpot> jackpotOptional = jackpotRepository.findById(bet.getJackpotId());
-
-        if (jackpotOptional.isEmpty()) {
-            log.warn("Jackpot not found with ID: {}. Skipping reward evaluation.", bet.getJackpotId());
+    public Optional<JackpotRewardDto> evaluate(BetDto bet, JackpotSettlement settlement) {
+        if (!settlement.isRewarded()) {
+            log.debug("Bet ID: {} not eligible for jackpot reward", bet.getId());
             return Optional.empty();
         }
 
-        Jackpot jackpot = jackpotOptional.get();
+        JackpotRewardDto savedReward = record(bet, settlement.getJackpotId(), settlement.getRewardAmount(),
+                settlement.getDrawSeed(), settlement.getDrawPosition());
 
-        // Evaluate eligibility using strategy from enum
-        boolean isEligible = jackpot.getJackpotRewardType()
-                .getStrategy()
-                .isEligibleForReward(
-                        jackpot.getCurrentJackpotValue(),
-                        jackpot.getInitialJackpotValue(),
-                        jackpot.getMaxJackpotValue()
-                );
+        eventPublisher.publishEvent(new JackpotValueChanged(settlement.getJackpotId(), settlement.getCurrentJackpotValue()));
+        log.info("Jackpot {} reset to initial value: {}",
+                settlement.getJackpotId(), settlement.getCurrentJackpotValue());
 
-        if (!isEligible) {
-            log.debug("Bet ID: {} not eligible for jackpot reward", bet.getId());
-            return Optional.empty();
-        }
+        return Optional.of(savedReward);
+    }
 
+    private JackpotRewardDto record(BetDto bet, Long jackpotId, BigDecimal rewardAmount,
+                                    Long drawSeed, Long drawPosition) {
         // Bet is eligible! Create reward record
         JackpotReward reward = JackpotReward.builder()
                 .betId(bet.getId())
                 .userId(bet.getUserId())
-                .jackpotId(jackpot.getId())
-                .jackpotRewardAmount(jackpot.getCurrentJackpotValue())
+                .jackpotId(jackpotId)
+                .jackpotRewardAmount(rewardAmount)
+                .drawSeed(drawSeed)
+                .drawPosition(drawPosition)
                 .build();
 
         JackpotReward savedReward = jackpotRewardRepository.save(reward);
+        pipelineMetrics.recordReward(jackpotId, rewardAmount);
 
         log.info("Jackpot reward created! User {} won {} from jackpot {}",
-                bet.getUserId(), jackpot.getCurrentJackpotValue(), jackpot.getId());
-
-        // Reset jackpot pool to initial value
-        jackpot.setCurrentJackpotValue(jackpot.getInitialJackpotValue());
-        jackpotRepository.save(jackpot);
+                bet.getUserId(), rewardAmount, jackpotId);
 
-        log.info("Jackpot {} reset to initial value: {}",
-                jackpot.getId(), jackpot.getInitialJackpotValue());
-
-        return Optional.of(JackpotRewardDto.builder()
+        return JackpotRewardDto.builder()
                 .id(savedReward.getId())
                 .betId(savedReward.getBetId())
                 .userId(savedReward.getUserId())
                 .jackpotId(savedReward.getJackpotId())
                 .jackpotRewardAmount(savedReward.getJackpotRewardAmount())
+                .drawSeed(savedReward.getDrawSeed())
+                .drawPosition(savedReward.getDrawPosition())
                 .createdAt(savedReward.getCreatedAt())
-                .build());
+                .build();
     }
 
     @Override
@@ -92,7 +86,23 @@ public class JackpotRewardServiceImpl implements JackpotRewardService {
                         .userId(reward.getUserId())
                         .jackpotId(reward.getJackpotId())
                         .jackpotRewardAmount(reward.getJackpotRewardAmount())
+                        .drawSeed(reward.getDrawSeed())
+                        .drawPosition(reward.getDrawPosition())
                         .createdAt(reward.getCreatedAt())
                         .build());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<JackpotRewardSummary> findByUser(Long userId, Long beforeId, int limit) {
+        return KeysetPage.of(jackpotRewardRepository.findPageByUserId(
+                userId, KeysetPage.upperBound(beforeId), Limit.of(limit + 1)), limit, JackpotRewardSummary::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<JackpotRewardSummary> findByJackpot(Long jackpotId, Long beforeId, int limit) {
+        return KeysetPage.of(jackpotRewardRepository.findPageByJackpotId(
+                jackpotId, KeysetPage.upperBound(beforeId), Limit.of(limit + 1)), limit, JackpotRewardSummary::id);
+    }
 }
@@ -0,0 +1,16 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.model.BetDto;
+import com.betting.betting_services.service.ledger.JackpotSettlement;
+
+import java.util.Optional;
+
+public interface JackpotSettlementService {
+
+    /**
+     * Applies a placed bet to its jackpot: contribution and reward evaluation, plus the records they produce.
+     *
+     * @return the settlement, or empty if the jackpot does not exist
+     */
+    Optional<JackpotSettlement> settle(BetDto bet);
+}
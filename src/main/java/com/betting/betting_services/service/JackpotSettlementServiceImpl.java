@@ -0,0 +1,57 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.metrics.BetPipelineMetrics;
+import com.betting.betting_services.metrics.BetPipelineMetrics.Stage;
+import com.betting.betting_services.model.BetDto;
+import com.betting.betting_services.model.JackpotContributionDto;
+import com.betting.betting_services.service.ledger.JackpotLedger;
+import com.betting.betting_services.service.ledger.JackpotSettlement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotSettlementServiceImpl implements JackpotSettlementService {
+
+    private final JackpotContributionService jackpotContributionService;
+    private final JackpotRewardService jackpotRewardService;
+    private final JackpotLedger jackpotLedger;
+    private final BetPipelineMetrics pipelineMetrics;
+
+    @Override
+    @Transactional
+    public Optional<JackpotSettlement> settle(BetDto bet) {
+        // Step 2: Contribute to jackpot pool and evaluate for jackpot reward in one atomic step
+        Optional<JackpotSettlement> settlement = pipelineMetrics.time(Stage.CONTRIBUTION, () -> contribute(bet));
+
+        if (settlement.isEmpty()) {
+            log.warn("No jackpot contribution made for bet ID: {}", bet.getId());
+            return settlement;
+        }
+
+        // Step 3: Record the jackpot reward if the bet won
+        pipelineMetrics.time(Stage.REWARD, () -> jackpotRewardService.evaluate(bet, settlement.get()))
+                .ifPresentOrElse(
+                        reward -> log.info("Jackpot reward awarded: {}", reward),
+                        () -> log.debug("Bet ID: {} not eligible for jackpot reward", bet.getId())
+                );
+
+        return settlement;
+    }
+
+    private Optional<JackpotSettlement> contribute(BetDto bet) {
+        Optional<JackpotSettlement> settlement = jackpotLedger.settle(bet.getJackpotId(), bet.getBetAmount());
+
+        settlement.ifPresent(settled -> {
+            JackpotContributionDto contribution = jackpotContributionService.contribute(bet, settled);
+            log.info("Jackpot contribution successful: {}", contribution);
+        });
+
+        return settlement;
+    }
+}
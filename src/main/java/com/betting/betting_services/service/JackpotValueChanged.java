@@ -0,0 +1,10 @@
+package com.betting.betting_services.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Published inside a transaction that changed a jackpot's current value; delivered to the value stream after
+ * that transaction commits.
+ */
+public record JackpotValueChanged(Long jackpotId, BigDecimal currentJackpotValue) {
+}
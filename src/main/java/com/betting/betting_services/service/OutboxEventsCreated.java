@@ -0,0 +1,7 @@
+package com.betting.betting_services.service;
+
+/**
+ * Published inside a transaction that wrote outbox rows; delivered to the relay after that transaction commits.
+ */
+public record OutboxEventsCreated(int count) {
+}
@@ -0,0 +1,101 @@
+package com.betting.betting_services.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Maintains the daily partitions of {@code outbox_events}.
+ * <p>
+ * Partitions for today and the next {@code outbox.partition.precreate-days} days are created ahead of time.
+ * Partitions older than {@code outbox.partition.retention-days} are dropped as a whole once they hold no pending
+ * event, which avoids DELETEs and the vacuum and index bloat they leave behind.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.partition.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPartitionMaintenance implements SmartInitializingSingleton {
+
+    private static final String PARTITION_PREFIX = "outbox_events_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Value("${outbox.partition.precreate-days:3}")
+    private int precreateDays;
+
+    @Value("${outbox.partition.retention-days:2}")
+    private int retentionDays;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // schema.sql has run by now; today's partition must exist before the first bet is accepted
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${outbox.partition.maintenance-cron:0 5 * * * *}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+        createPartitions(today);
+        dropExpiredPartitions(today.minusDays(retentionDays));
+    }
+
+    private void createPartitions(LocalDate today) {
+        for (int day = 0; day <= precreateDays; day++) {
+            LocalDate date = today.plusDays(day);
+            String partition = PARTITION_PREFIX + date.format(PARTITION_SUFFIX);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF outbox_events " +
+                        "FOR VALUES FROM ('" + date + "') TO ('" + date.plusDays(1) + "')");
+            } catch (DataAccessException e) {
+                // Happens when the default partition already holds rows of that day
+                log.error("Failed to create outbox partition {}", partition, e);
+            }
+        }
+    }
+
+    private void dropExpiredPartitions(LocalDate oldestRetained) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = 'outbox_events' AND c.relname LIKE '" + PARTITION_PREFIX + "%'",
+                String.class);
+
+        for (String partition : partitions) {
+            LocalDate date;
+            try {
+                date = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+
+            if (!date.isBefore(oldestRetained)) {
+                continue;
+            }
+
+            Boolean hasPending = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE status = 'PENDING')", Boolean.class);
+
+            if (Boolean.TRUE.equals(hasPending)) {
+                log.warn("Outbox partition {} is past retention but still has pending events, keeping it", partition);
+                continue;
+            }
+
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+            log.info("Dropped expired outbox partition {}", partition);
+        }
+    }
+}
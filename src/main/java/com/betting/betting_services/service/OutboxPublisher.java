@@ -1,84 +1,319 @@
 package com.betting.betting_services.service;
 
+import com.betting.betting_services.codec.BetMessageCodec;
 import com.betting.betting_services.entity.OutboxEvent;
+import com.betting.betting_services.metrics.OutboxMetrics;
 import com.betting.betting_services.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+/**
+ * Relays outbox events to Kafka.
+ * <p>
+ * Each batch of due events is claimed with {@code FOR UPDATE SKIP LOCKED} and stays locked while it is sent, so
+ * several instances can drain the outbox in parallel without publishing the same event twice. The sends of a batch
+ * are awaited inside the claiming transaction and their outcome is written back with bulk updates.
+ * <p>
+ * A failed event is retried with exponential backoff. Once it has failed {@code outbox.relay.max-retries} times it
+ * is published to the dead-letter topic and marked {@code FAILED}.
+ * <p>
+ * A relay only claims the events of its shard, {@code outbox.relay.shard.index} of {@code outbox.relay.shard.count}
+ * by event id. Dedicated relay instances can thus split the outbox between them instead of contending for the same
+ * rows.
+ * <p>
+ * With a transactional producer ({@code kafka.producer.profile=exactly-once}) each batch is sent in one Kafka
+ * transaction, and the outbox rows are marked before it commits. A batch is then published whole or not at all:
+ * a failed send or a failed status update aborts the Kafka transaction, so {@code read_committed} consumers never
+ * see events that stay pending in the outbox.
+ */
 @Service
 @RequiredArgsConstructor
 public class OutboxPublisher {
 
-    private static final int MAX_RETRIES = 3;
+    static final String HEADER_OUTBOX_EVENT_ID = "outbox-event-id";
+    static final String HEADER_ERROR_MESSAGE = "outbox-error-message";
 
     @Value("${kafka.topic.jackpot-bets}")
     private String jackpotBetsTopic;
 
+    @Value("${kafka.topic.jackpot-bets-dlt}")
+    private String jackpotBetsDeadLetterTopic;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.max-retries:10}")
+    private int maxRetries;
+
+    @Value("${outbox.relay.backoff-base-ms:500}")
+    private long backoffBaseMs;
+
+    @Value("${outbox.relay.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    @Value("${outbox.relay.shard.count:1}")
+    private int shardCount;
+
+    @Value("${outbox.relay.shard.index:0}")
+    private int shardIndex;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
     private final OutboxEventRepository outboxEventRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final OutboxMetrics outboxMetrics;
 
-    @Scheduled(fixedDelay = 5000) // Run every 5 seconds
-    @Transactional
-    public void publishPendingEvents() {
-        List<OutboxEvent> pendingEvents = outboxEventRepository.findPendingEvents();
+    private TransactionTemplate transactionTemplate;
 
-        if (pendingEvents.isEmpty()) {
-            return;
+    @PostConstruct
+    void init() {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalStateException("outbox.relay.shard.index must be in [0, outbox.relay.shard.count), got "
+                    + shardIndex + " of " + shardCount);
         }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
-        log.info("Found {} pending outbox events to publish", pendingEvents.size());
+    /**
+     * Publishes up to {@code outbox.relay.max-batches-per-run} batches.
+     *
+     * @return the number of events claimed
+     */
+    public int publishPendingEvents() {
+        int total = 0;
 
-        for (OutboxEvent event : pendingEvents) {
-            try {
-                // Publish to Kafka
-                kafkaTemplate.send(jackpotBetsTopic, event.getAggregateId(), event.getPayload())
-                        .whenComplete((result, ex) -> {
-                            if (ex == null) {
-                                markAsPublished(event);
-                                log.info("Successfully published event ID: {} to topic: {}",
-                                        event.getId(), jackpotBetsTopic);
-                            } else {
-                                handlePublishFailure(event, ex);
-                            }
-                        });
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer claimed = transactionTemplate.execute(status -> publishBatch());
+            total += claimed == null ? 0 : claimed;
 
-            } catch (Exception e) {
-                handlePublishFailure(event, e);
+            // A short batch means no more events are due
+            if (claimed == null || claimed < batchSize) {
+                break;
             }
         }
+
+        return total;
     }
 
-    @Transactional
-    protected void markAsPublished(OutboxEvent event) {
-        event.setStatus(OutboxEvent.EventStatus.PUBLISHED);
-        event.setPublishedAt(LocalDateTime.now());
-        outboxEventRepository.save(event);
+    private int publishBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.claimPendingEvents(batchSize, now, shardCount, shardIndex);
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        log.info("Claimed {} pending outbox events to publish", events.size());
+
+        Map<OutboxEvent, String> failures = publish(jackpotBetsTopic, events,
+                event -> toRecord(jackpotBetsTopic, event),
+                published -> {
+                    outboxEventRepository.markAsPublished(published.stream().map(OutboxEvent::getId).toList(), now);
+                    log.info("Successfully published {} events to topic: {}", published.size(), jackpotBetsTopic);
+                });
+
+        Map<OutboxEvent, String> retryable = new LinkedHashMap<>();
+        Map<OutboxEvent, String> exhausted = new LinkedHashMap<>();
+        failures.forEach((event, error) ->
+                (event.getRetryCount() + 1 >= maxRetries ? exhausted : retryable).put(event, error));
+
+        if (!exhausted.isEmpty()) {
+            retryable.putAll(deadLetter(exhausted, now));
+        }
+
+        groupByError(retryable).forEach((error, ids) -> {
+            outboxEventRepository.scheduleRetry(ids, error, now, backoffBaseMs, backoffMaxMs);
+            log.warn("Failed to publish {} events, scheduled for retry: {}", ids.size(), error);
+        });
+
+        return events.size();
+    }
+
+    /**
+     * Publishes exhausted events to the dead-letter topic.
+     *
+     * @return the events that could not be dead-lettered either, with their original error
+     */
+    private Map<OutboxEvent, String> deadLetter(Map<OutboxEvent, String> exhausted, LocalDateTime now) {
+        List<OutboxEvent> events = new ArrayList<>(exhausted.keySet());
+
+        Map<OutboxEvent, String> failures = publish(jackpotBetsDeadLetterTopic, events, event -> {
+            ProducerRecord<String, byte[]> record = toRecord(jackpotBetsDeadLetterTopic, event);
+            record.headers()
+                    .add(HEADER_OUTBOX_EVENT_ID, event.getId().toString().getBytes(StandardCharsets.UTF_8))
+                    .add(HEADER_ERROR_MESSAGE, exhausted.get(event).getBytes(StandardCharsets.UTF_8));
+            return record;
+        }, published -> {
+            Map<OutboxEvent, String> deadLettered = new LinkedHashMap<>();
+            published.forEach(event -> deadLettered.put(event, exhausted.get(event)));
+
+            groupByError(deadLettered).forEach((error, ids) -> {
+                outboxEventRepository.markAsDeadLettered(ids, error, now);
+                log.error("{} events failed after {} retries and were sent to topic {}: {}. Event IDs: {}",
+                        ids.size(), maxRetries, jackpotBetsDeadLetterTopic, error, ids);
+            });
+        });
+
+        Map<OutboxEvent, String> notDeadLettered = new LinkedHashMap<>();
+        failures.keySet().forEach(event -> notDeadLettered.put(event, exhausted.get(event)));
+        return notDeadLettered;
     }
 
-    @Transactional
-    protected void handlePublishFailure(OutboxEvent event, Throwable error) {
-        event.setRetryCount(event.getRetryCount() + 1);
-        event.setErrorMessage(error.getMessage());
-
-        if (event.getRetryCount() >= MAX_RETRIES) {
-            event.setStatus(OutboxEvent.EventStatus.FAILED);
-            log.error("Event ID: {} failed after {} retries. Marking as FAILED.",
-                    event.getId(), MAX_RETRIES);
-        } else {
-            log.warn("Event ID: {} failed. Retry count: {}",
-                    event.getId(), event.getRetryCount());
+    /**
+     * Sends all events and passes the acknowledged ones to {@code onPublished}. With a transactional producer the
+     * events are sent in one transaction and {@code onPublished} runs before it commits; a transaction with a
+     * failed send can only be aborted, so then either all events are published or none is.
+     *
+     * @return the events that were not published, with the reason
+     */
+    private Map<OutboxEvent, String> publish(String topic, List<OutboxEvent> events,
+                                             Function<OutboxEvent, ProducerRecord<String, byte[]>> toRecord,
+                                             Consumer<List<OutboxEvent>> onPublished) {
+        if (!kafkaTemplate.isTransactional()) {
+            Map<OutboxEvent, String> failures = sendAll(topic, events,
+                    event -> kafkaTemplate.send(toRecord.apply(event)));
+            List<OutboxEvent> published = events.stream().filter(event -> !failures.containsKey(event)).toList();
+            if (!published.isEmpty()) {
+                onPublished.accept(published);
+            }
+            return failures;
+        }
+
+        return publishInTransaction(topic, events, toRecord, onPublished);
+    }
+
+    /**
+     * Publishes {@code events} in one Kafka transaction. When it aborts after some sends were acknowledged, a
+     * record of the batch was rejected, so both halves are published again separately until the rejected events
+     * are isolated. Only those spend a retry. A batch where no send was acknowledged, or whose status update
+     * failed, is not split.
+     *
+     * @return the events that were not published, with the reason
+     */
+    private Map<OutboxEvent, String> publishInTransaction(
+            String topic, List<OutboxEvent> events, Function<OutboxEvent, ProducerRecord<String, byte[]>> toRecord,
+            Consumer<List<OutboxEvent>> onPublished) {
+        try {
+            return kafkaTemplate.executeInTransaction(operations -> {
+                Map<OutboxEvent, String> failures = sendAll(topic, events,
+                        event -> operations.send(toRecord.apply(event)));
+                if (!failures.isEmpty()) {
+                    throw new PartialSendException(failures, events.size());
+                }
+                // Throwing here aborts the Kafka transaction as well
+                onPublished.accept(events);
+                return failures;
+            });
+        } catch (PartialSendException e) {
+            if (e.failures.size() < events.size()) {
+                int half = events.size() / 2;
+                log.warn("Aborted Kafka transaction of {} events to topic {} after {} failed sends, " +
+                        "publishing both halves separately", events.size(), topic, e.failures.size());
+                Map<OutboxEvent, String> failures = new LinkedHashMap<>(
+                        publishInTransaction(topic, events.subList(0, half), toRecord, onPublished));
+                failures.putAll(publishInTransaction(
+                        topic, events.subList(half, events.size()), toRecord, onPublished));
+                return failures;
+            }
+            log.warn("Aborted Kafka transaction of {} events to topic {}: {}", events.size(), topic, e.getMessage());
+            return e.failures;
+        } catch (RuntimeException e) {
+            log.warn("Aborted Kafka transaction of {} events to topic {}", events.size(), topic, e);
+            Map<OutboxEvent, String> failures = new LinkedHashMap<>();
+            events.forEach(event -> failures.put(event, String.valueOf(e.getMessage())));
+            return failures;
+        }
+    }
+
+    /**
+     * Sends all events and waits for their acknowledgements until {@code outbox.relay.send-timeout-ms} elapses.
+     *
+     * @return the events that were not acknowledged, with the reason
+     */
+    private Map<OutboxEvent, String> sendAll(String topic, List<OutboxEvent> events,
+                                             Function<OutboxEvent, CompletableFuture<?>> send) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                long sentAt = System.nanoTime();
+                sends.add(send.apply(event).whenComplete((result, error) ->
+                        outboxMetrics.recordAck(topic, System.nanoTime() - sentAt, error == null)));
+            } catch (Exception e) {
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        Map<OutboxEvent, String> failures = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.put(events.get(i), "Interrupted while publishing");
+            } catch (ExecutionException e) {
+                failures.put(events.get(i), String.valueOf(e.getCause().getMessage()));
+            } catch (TimeoutException e) {
+                failures.put(events.get(i), "Timed out waiting for Kafka acknowledgement");
+            }
         }
 
-        outboxEventRepository.save(event);
+        return failures;
+    }
+
+    private ProducerRecord<String, byte[]> toRecord(String topic, OutboxEvent event) {
+        String key = event.getMessageKey() != null ? event.getMessageKey() : event.getAggregateId();
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, event.getPayload());
+        record.headers().add(BetMessageCodec.PAYLOAD_FORMAT_HEADER, BetMessageCodec.formatHeader(event.getPayloadFormat()));
+        return record;
+    }
+
+    private Map<String, List<Long>> groupByError(Map<OutboxEvent, String> failures) {
+        Map<String, List<Long>> idsByError = new LinkedHashMap<>();
+        failures.forEach((event, error) -> idsByError.computeIfAbsent(error, key -> new ArrayList<>()).add(event.getId()));
+        return idsByError;
+    }
+
+    /**
+     * Aborts a Kafka transaction in which some sends failed.
+     */
+    private static final class PartialSendException extends KafkaException {
+
+        private final transient Map<OutboxEvent, String> failures;
+
+        private PartialSendException(Map<OutboxEvent, String> failures, int sent) {
+            super("Failed to publish " + failures.size() + " of " + sent + " events: "
+                    + failures.values().iterator().next());
+            this.failures = failures;
+        }
     }
 }
@@ -0,0 +1,117 @@
+package com.betting.betting_services.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@link OutboxPublisher} from a dedicated thread.
+ * <p>
+ * Every commit that writes outbox rows signals the relay, and a burst of signals collapses into a single drain.
+ * Without signals the relay falls back to polling, doubling the idle wait from {@code outbox.relay.idle-poll-min-ms}
+ * up to {@code outbox.relay.idle-poll-max-ms} while the outbox stays empty.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    @Value("${outbox.relay.idle-poll-min-ms:50}")
+    private long idlePollMinMs;
+
+    @Value("${outbox.relay.idle-poll-max-ms:5000}")
+    private long idlePollMaxMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final OutboxPublisher outboxPublisher;
+
+    private final AtomicBoolean signalled = new AtomicBoolean();
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxEventsCreated(OutboxEventsCreated event) {
+        signal();
+    }
+
+    /**
+     * Wakes the relay up. Signals arriving while a drain is in progress trigger exactly one more drain.
+     */
+    public void signal() {
+        if (signalled.compareAndSet(false, true)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // The relay mostly waits on JDBC and Kafka acknowledgements, so it follows the application's thread mode
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        thread = builder.name("outbox-relay").start(this::run);
+        log.info("Outbox relay started on a {} thread, idle poll between {} and {} ms",
+                virtualThreads ? "virtual" : "platform", idlePollMinMs, idlePollMaxMs);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread relayThread = thread;
+        if (relayThread == null) {
+            // Never started
+            return;
+        }
+
+        LockSupport.unpark(relayThread);
+        try {
+            relayThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Outbox relay stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long idleWaitMs = idlePollMinMs;
+
+        while (running) {
+            signalled.set(false);
+
+            int published;
+            try {
+                published = outboxPublisher.publishPendingEvents();
+            } catch (RuntimeException e) {
+                log.error("Outbox drain failed", e);
+                published = 0;
+            }
+
+            if (published > 0) {
+                idleWaitMs = idlePollMinMs;
+                continue;
+            }
+
+            if (!signalled.get()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(idleWaitMs));
+            }
+
+            idleWaitMs = signalled.get() ? idlePollMinMs : Math.min(idleWaitMs * 2, idlePollMaxMs);
+        }
+    }
+}
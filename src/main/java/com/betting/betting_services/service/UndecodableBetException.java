@@ -0,0 +1,12 @@
+package com.betting.betting_services.service;
+
+/**
+ * Thrown when a {@code jackpot-bets} record cannot be decoded. Retrying cannot help, so the consumer's error
+ * handler sends the record to the dead-letter topic straight away.
+ */
+public class UndecodableBetException extends RuntimeException {
+
+    public UndecodableBetException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,247 @@
+package com.betting.betting_services.service.export;
+
+import com.betting.betting_services.money.MinorUnits;
+import com.betting.betting_services.service.DatabaseBusyException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the contribution or reward history of a jackpot as NDJSON, one JSON object per line.
+ * <p>
+ * Rows are read through a server-side cursor: PostgreSQL only honours the fetch size inside a transaction, so
+ * each export runs in a read-only transaction and fetches {@code export.fetch-size} rows at a time. Every row is
+ * written straight from the {@link ResultSet} to a {@link JsonGenerator} without building entities or DTOs. The
+ * response stream blocks while the client is slow to read, which in turn holds back the next fetch, so memory
+ * use is bounded by the fetch size whatever the size of the export.
+ * <p>
+ * An export keeps a database connection for its whole duration, so at most {@code export.max-concurrent} run at
+ * once. Further requests fail fast with {@link DatabaseBusyException}. The slot is given back when the body has been
+ * written, or through {@link ExportBody#release()} when the request ends without the body ever running.
+ * <p>
+ * With {@code jackpot.contribution.storage=journal} contributions are read from the contribution journal, so
+ * only those within its retention window can be exported.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotHistoryExporter {
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${export.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${jackpot.contribution.storage:entity}")
+    private String contributionStorage;
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @return the body writing the history of {@code jackpotId} created in {@code [from, to)}, ordered by id
+     */
+    public ExportBody export(JackpotHistory history, Long jackpotId, LocalDateTime from, LocalDateTime to,
+                             boolean gzip) {
+        if (!permits.tryAcquire()) {
+            throw new DatabaseBusyException("Too many exports running, at most " + maxConcurrent + " at once");
+        }
+
+        JackpotHistory source = history == JackpotHistory.CONTRIBUTIONS && "journal".equals(contributionStorage)
+                ? JackpotHistory.CONTRIBUTION_JOURNAL
+                : history;
+
+        return new ExportBody(source, jackpotId, from, to, gzip);
+    }
+
+    private void write(JackpotHistory history, Long jackpotId, LocalDateTime from, LocalDateTime to,
+                       OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        long[] rows = new long[1];
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.setRootValueSeparator(null);
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(history.sql,
+                        (RowCallbackHandler) rs -> {
+                            try {
+                                history.write(json, rs);
+                                json.writeRaw('\n');
+                                rows[0]++;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        },
+                        jackpotId, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+            } catch (UncheckedIOException e) {
+                // The client went away, stop reading
+                throw e.getCause();
+            }
+        }
+
+        log.info("Exported {} {} rows of jackpot {} in {} ms", rows[0], history.name().toLowerCase(), jackpotId,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Body of one export, holding one of the {@code export.max-concurrent} slots until it is released.
+     */
+    public final class ExportBody implements StreamingResponseBody {
+
+        private final JackpotHistory history;
+        private final Long jackpotId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final boolean gzip;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ExportBody(JackpotHistory history, Long jackpotId, LocalDateTime from, LocalDateTime to,
+                           boolean gzip) {
+            this.history = history;
+            this.jackpotId = jackpotId;
+            this.from = from;
+            this.to = to;
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try {
+                write(history, jackpotId, from, to, gzip ? new GZIPOutputStream(out, 64 * 1024) : out);
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * Gives the slot back. Only the first call releases it, so it is safe to call when the request completes as
+         * well as after writing.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    public enum JackpotHistory {
+
+        CONTRIBUTIONS("SELECT id, bet_id, user_id, stake_amount, contribution_amount, current_jackpot_amount, " +
+                "draw_seed, draw_position, created_at FROM jackpot_contributions " +
+                "WHERE jackpot_id = ? AND created_at >= ? AND created_at < ? ORDER BY id") {
+            @Override
+            void write(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong(1));
+                json.writeNumberField("betId", rs.getLong(2));
+                json.writeNumberField("userId", rs.getLong(3));
+                json.writeNumberField("stakeAmount", rs.getBigDecimal(4));
+                json.writeNumberField("contributionAmount", rs.getBigDecimal(5));
+                json.writeNumberField("currentJackpotAmount", rs.getBigDecimal(6));
+                writeNullableLong(json, "drawSeed", rs, 7);
+                writeNullableLong(json, "drawPosition", rs, 8);
+                writeTimestamp(json, "createdAt", rs, 9);
+                json.writeEndObject();
+            }
+        },
+
+        CONTRIBUTION_JOURNAL("SELECT id, bet_id, user_id, stake_minor, contribution_minor, jackpot_value_minor, " +
+                "draw_seed, draw_position, created_at FROM jackpot_contribution_journal " +
+                "WHERE jackpot_id = ? AND created_at >= ? AND created_at < ? ORDER BY id") {
+            @Override
+            void write(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong(1));
+                json.writeNumberField("betId", rs.getLong(2));
+                json.writeNumberField("userId", rs.getLong(3));
+                json.writeNumberField("stakeAmount", MinorUnits.toDecimal(rs.getLong(4)));
+                json.writeNumberField("contributionAmount", MinorUnits.toDecimal(rs.getLong(5)));
+                json.writeNumberField("currentJackpotAmount", MinorUnits.toDecimal(rs.getLong(6)));
+                writeNullableLong(json, "drawSeed", rs, 7);
+                writeNullableLong(json, "drawPosition", rs, 8);
+                writeTimestamp(json, "createdAt", rs, 9);
+                json.writeEndObject();
+            }
+        },
+
+        REWARDS("SELECT id, bet_id, user_id, jackpot_reward_amount, draw_seed, draw_position, created_at " +
+                "FROM jackpot_rewards WHERE jackpot_id = ? AND created_at >= ? AND created_at < ? ORDER BY id") {
+            @Override
+            void write(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+                json.writeStartObject();
+                json.writeNumberField("id", rs.getLong(1));
+                json.writeNumberField("betId", rs.getLong(2));
+                json.writeNumberField("userId", rs.getLong(3));
+                json.writeNumberField("jackpotRewardAmount", rs.getBigDecimal(4));
+                writeNullableLong(json, "drawSeed", rs, 5);
+                writeNullableLong(json, "drawPosition", rs, 6);
+                writeTimestamp(json, "createdAt", rs, 7);
+                json.writeEndObject();
+            }
+        };
+
+        private final String sql;
+
+        JackpotHistory(String sql) {
+            this.sql = sql;
+        }
+
+        abstract void write(JsonGenerator json, ResultSet rs) throws IOException, SQLException;
+
+        private static void writeNullableLong(JsonGenerator json, String name, ResultSet rs, int column)
+                throws IOException, SQLException {
+            long value = rs.getLong(column);
+            if (rs.wasNull()) {
+                json.writeNullField(name);
+            } else {
+                json.writeNumberField(name, value);
+            }
+        }
+
+        private static void writeTimestamp(JsonGenerator json, String name, ResultSet rs, int column)
+                throws IOException, SQLException {
+            json.writeStringField(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                    rs.getObject(column, LocalDateTime.class)));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.betting.betting_services.service.journal;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Folds the contribution journal into per-jackpot, per-interval rows of {@code jackpot_contribution_aggregates}
+ * and deletes journal entries past their retention.
+ * <p>
+ * Each run aggregates the entries between the watermark of the previous run and the last bucket boundary that is
+ * at least {@code jackpot.contribution.journal.compaction-lag} old, so transactions still committing entries into
+ * a bucket are not missed, then moves the watermark up to that boundary. Entries are stamped by the database when
+ * they are inserted, just before their transaction commits, so the lag only has to cover the commit itself. A
+ * bucket closed in several runs is added up by the upsert. Full entries are kept for
+ * {@code jackpot.contribution.journal.retention}, and never deleted before they were aggregated. The watermark row
+ * is locked for the whole run, so several instances can run the compactor without folding an entry twice.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.contribution.storage", havingValue = "journal")
+@RequiredArgsConstructor
+@Slf4j
+public class ContributionJournalCompactor {
+
+    private static final LocalDateTime BUCKET_ORIGIN = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Value("${jackpot.contribution.journal.aggregate-interval:1h}")
+    private Duration aggregateInterval;
+
+    @Value("${jackpot.contribution.journal.compaction-lag:1m}")
+    private Duration compactionLag;
+
+    @Value("${jackpot.contribution.journal.retention:7d}")
+    private Duration retention;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        if (aggregateInterval.toSeconds() <= 0 || Duration.ofDays(1).toSeconds() % aggregateInterval.toSeconds() != 0) {
+            throw new IllegalStateException("jackpot.contribution.journal.aggregate-interval must divide a day, got "
+                    + aggregateInterval);
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${jackpot.contribution.journal.compaction-interval-ms:60000}")
+    public void compact() {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime watermark = jdbcTemplate.queryForObject(
+                    "SELECT compacted_until FROM jackpot_contribution_compaction WHERE id = 1 FOR UPDATE",
+                    LocalDateTime.class);
+            // The database clock stamps the entries, so it also decides which buckets are closed
+            LocalDateTime now = jdbcTemplate.queryForObject("SELECT clock_timestamp()::timestamp", LocalDateTime.class);
+            LocalDateTime until = bucketStart(now.minus(compactionLag));
+
+            if (until.isAfter(watermark)) {
+                aggregate(watermark, until);
+                watermark = until;
+            }
+
+            LocalDateTime expired = now.minus(retention);
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM jackpot_contribution_journal WHERE created_at < ?",
+                    Timestamp.valueOf(expired.isBefore(watermark) ? expired : watermark));
+            if (deleted > 0) {
+                log.info("Deleted {} contribution journal entries past retention", deleted);
+            }
+        });
+    }
+
+    private void aggregate(LocalDateTime from, LocalDateTime until) {
+        int buckets = jdbcTemplate.update(
+                "INSERT INTO jackpot_contribution_aggregates " +
+                        "(jackpot_id, bucket_start, contribution_count, stake_amount, contribution_amount) " +
+                        "SELECT jackpot_id, date_bin(make_interval(secs => ?), created_at, ?), count(*), " +
+                        "sum(stake_minor) / 100.0, sum(contribution_minor) / 100.0 " +
+                        "FROM jackpot_contribution_journal WHERE created_at >= ? AND created_at < ? " +
+                        "GROUP BY 1, 2 " +
+                        "ON CONFLICT (jackpot_id, bucket_start) DO UPDATE SET " +
+                        "contribution_count = jackpot_contribution_aggregates.contribution_count " +
+                        "+ EXCLUDED.contribution_count, " +
+                        "stake_amount = jackpot_contribution_aggregates.stake_amount + EXCLUDED.stake_amount, " +
+                        "contribution_amount = jackpot_contribution_aggregates.contribution_amount " +
+                        "+ EXCLUDED.contribution_amount",
+                aggregateInterval.toSeconds(), Timestamp.valueOf(BUCKET_ORIGIN),
+                Timestamp.valueOf(from), Timestamp.valueOf(until));
+
+        jdbcTemplate.update("UPDATE jackpot_contribution_compaction SET compacted_until = ? WHERE id = 1",
+                Timestamp.valueOf(until));
+
+        log.debug("Compacted contribution journal from {} to {} into {} aggregate buckets", from, until, buckets);
+    }
+
+    private LocalDateTime bucketStart(LocalDateTime time) {
+        long seconds = ChronoUnit.SECONDS.between(BUCKET_ORIGIN, time);
+        return BUCKET_ORIGIN.plusSeconds(seconds - Math.floorMod(seconds, aggregateInterval.toSeconds()));
+    }
+}
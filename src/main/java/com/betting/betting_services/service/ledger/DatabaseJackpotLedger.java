@@ -0,0 +1,172 @@
+package com.betting.betting_services.service.ledger;
+
+import com.betting.betting_services.money.MinorUnits;
+import com.betting.betting_services.repository.JackpotRepository;
+import com.betting.betting_services.service.strategy.RewardDraw;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps jackpot values in the {@code jackpots} table.
+ * <p>
+ * Every change is a compare-and-set {@link JackpotRepository#settle} against the value the strategies were
+ * evaluated with, retried up to {@code jackpot.ledger.max-attempts} times when another bet got there first.
+ * <p>
+ * Jackpots listed in {@code jackpot.ledger.sharded.jackpot-ids} are instead kept like a {@code LongAdder}: the
+ * value is the {@code jackpots} row plus the deltas of {@code jackpot.ledger.sharded.shards} rows in
+ * {@code jackpot_counter_shards}. A contribution only adds to the shard of its thread, so concurrent bets lock
+ * different rows. The strategies are evaluated against the sum read at the start of the bet, which may miss
+ * contributions that have not committed yet. A win locks the {@code jackpots} row before touching any shard, which
+ * serializes winners, and pays out the exact sum read under that lock plus its own contribution, which is never
+ * written to a shard. The reset merges the shards into the payout and deletes them in the same statement as it
+ * sets the row back to the initial value, so the row never drifts from the pool value.
+ * <p>
+ * A transaction settling several bets can still hold a shard of an earlier bet while a later one waits for the row,
+ * so callers settling batches retry on lock conflicts with {@code BatchLockRetry}.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.ledger.mode", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseJackpotLedger implements JackpotLedger {
+
+    @Value("${jackpot.ledger.max-attempts:16}")
+    private int maxAttempts;
+
+    @Value("${jackpot.ledger.sharded.jackpot-ids:}")
+    private Set<Long> shardedJackpotIds;
+
+    @Value("${jackpot.ledger.sharded.shards:16}")
+    private int shards;
+
+    private final JackpotRepository jackpotRepository;
+    private final JackpotDefinitionCache jackpotDefinitionCache;
+
+    @Override
+    @Transactional
+    public Optional<JackpotSettlement> settle(Long jackpotId, BigDecimal betAmount) {
+        Optional<JackpotDefinition> definition = jackpotDefinitionCache.get(jackpotId);
+
+        if (definition.isEmpty()) {
+            log.warn("Jackpot not found with ID: {}. Skipping settlement.", jackpotId);
+            return Optional.empty();
+        }
+
+        if (shardedJackpotIds.contains(jackpotId)) {
+            return settleSharded(definition.get(), betAmount);
+        }
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            // Only the current value is read from the table, the rest of the jackpot comes from the cache
+            Optional<BigDecimal> currentValue = jackpotRepository.findCurrentJackpotValueById(jackpotId);
+
+            if (currentValue.isEmpty()) {
+                log.warn("Jackpot not found with ID: {}. Skipping settlement.", jackpotId);
+                return Optional.empty();
+            }
+
+            JackpotSettlement settlement = calculate(definition.get(), currentValue.get(), betAmount);
+
+            // Nothing to write: no contribution and no reward
+            if (settlement.getContributionAmount().signum() == 0 && !settlement.isRewarded()) {
+                return Optional.of(settlement);
+            }
+
+            Optional<BigDecimal> settledValue = jackpotRepository.settle(
+                    jackpotId,
+                    currentValue.get(),
+                    settlement.getContributionAmount(),
+                    settlement.isRewarded());
+
+            if (settledValue.isPresent()) {
+                return Optional.of(settlement);
+            }
+
+            log.debug("Jackpot {} changed concurrently during settlement, retrying (attempt {})", jackpotId, attempt);
+        }
+
+        throw new OptimisticLockingFailureException(
+                "Jackpot " + jackpotId + " settlement failed after " + maxAttempts + " attempts");
+    }
+
+    private Optional<JackpotSettlement> settleSharded(JackpotDefinition definition, BigDecimal betAmount) {
+        Long jackpotId = definition.id();
+        Optional<BigDecimal> totalValue = jackpotRepository.findTotalJackpotValueById(jackpotId);
+
+        if (totalValue.isEmpty()) {
+            log.warn("Jackpot not found with ID: {}. Skipping settlement.", jackpotId);
+            return Optional.empty();
+        }
+
+        JackpotSettlement settlement = calculate(definition, totalValue.get(), betAmount);
+
+        if (!settlement.isRewarded()) {
+            if (settlement.getContributionAmount().signum() != 0) {
+                jackpotRepository.addToCounterShard(jackpotId, shard(), settlement.getContributionAmount());
+            }
+            return Optional.of(settlement);
+        }
+
+        // The row lock comes before any shard row: a winner holding a shard would deadlock with another winner
+        // that holds the row and deletes that shard. Winners queue on the row lock, so each one pays out what the
+        // previous one left, and the winning bet's own contribution goes straight into the payout.
+        BigDecimal baseValue = jackpotRepository.lockCurrentJackpotValueById(jackpotId).orElseThrow();
+        BigDecimal shardTotal = jackpotRepository.resetShardedJackpotValue(
+                jackpotId, MinorUnits.toDecimal(definition.initialValue())).orElseThrow();
+        BigDecimal rewardAmount = baseValue.add(shardTotal).add(settlement.getContributionAmount());
+
+        log.debug("Merged counter shards of jackpot {}: drawn against {}, paid out {}",
+                jackpotId, settlement.getRewardAmount(), rewardAmount);
+
+        settlement.setJackpotValueAfterContribution(rewardAmount);
+        settlement.setRewardAmount(rewardAmount);
+        return Optional.of(settlement);
+    }
+
+    /**
+     * Spreads threads over the shards by thread id, so a worker keeps updating the same row.
+     */
+    private int shard() {
+        long hash = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash >>> 32, (long) shards);
+    }
+
+    private JackpotSettlement calculate(JackpotDefinition definition, BigDecimal currentJackpotValue,
+                                        BigDecimal betAmount) {
+        // Strategies work on minor units; amounts are converted back only for the settlement
+        long bet = MinorUnits.of(betAmount);
+        long initialValue = definition.initialValue();
+        long currentValue = MinorUnits.of(currentJackpotValue);
+
+        // Calculate contribution using strategy from enum
+        long contributionAmount = definition.contributionType()
+                .getMinorUnitStrategy()
+                .calculate(bet, currentValue, initialValue);
+
+        long valueAfterContribution = currentValue + contributionAmount;
+
+        // Evaluate eligibility against the pool including this bet's contribution
+        RewardDraw draw = definition.rewardType().getMinorUnitStrategy()
+                .draw(valueAfterContribution, initialValue, definition.maxValue());
+        boolean isEligible = draw.won();
+
+        return JackpotSettlement.builder()
+                .jackpotId(definition.id())
+                .contributionAmount(MinorUnits.toDecimal(contributionAmount))
+                .jackpotValueAfterContribution(MinorUnits.toDecimal(valueAfterContribution))
+                .rewardAmount(isEligible ? MinorUnits.toDecimal(valueAfterContribution) : null)
+                .currentJackpotValue(MinorUnits.toDecimal(isEligible ? initialValue : valueAfterContribution))
+                .drawSeed(draw.seed())
+                .drawPosition(draw.position())
+                .build();
+    }
+}
@@ -0,0 +1,242 @@
+package com.betting.betting_services.service.ledger;
+
+import com.betting.betting_services.money.MinorUnits;
+import com.betting.betting_services.repository.JackpotRepository;
+import com.betting.betting_services.service.strategy.RewardDraw;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps jackpot values on the heap and guards each jackpot with one of a fixed set of striped locks.
+ * <p>
+ * The ledger is the single writer of {@code jackpots.current_jackpot_value}: values are loaded lazily on
+ * first use and dirty values are flushed to the table every {@code jackpot.ledger.flush-interval-ms}.
+ * Only one application instance may run in this mode for a given set of jackpots.
+ * <p>
+ * Changes made inside a transaction that later rolls back are compensated by applying the inverse delta, unless
+ * the pool was reset by a win in between: the rolled-back change then belongs to a pool that no longer exists,
+ * and subtracting it would corrupt the new one.
+ */
+@Component
+@ConditionalOnProperty(name = "jackpot.ledger.mode", havingValue = "in-memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryJackpotLedger implements JackpotLedger {
+
+    @Value("${jackpot.ledger.lock-stripes:64}")
+    private int lockStripes;
+
+    private final JackpotRepository jackpotRepository;
+    private final JackpotDefinitionCache jackpotDefinitionCache;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMap<Long, JackpotState> states = new ConcurrentHashMap<>();
+    private ReentrantLock[] stripes;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        int size = Integer.highestOneBit(Math.max(1, lockStripes - 1) << 1);
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        log.info("In-memory jackpot ledger started with {} lock stripes", size);
+    }
+
+    @Override
+    public Optional<JackpotSettlement> settle(Long jackpotId, BigDecimal betAmount) {
+        JackpotDefinition definition = jackpotDefinitionCache.get(jackpotId).orElse(null);
+        JackpotState state = state(definition);
+
+        if (state == null) {
+            log.warn("Jackpot not found with ID: {}. Skipping settlement.", jackpotId);
+            return Optional.empty();
+        }
+
+        long bet = MinorUnits.of(betAmount);
+        long initialValue = definition.initialValue();
+        long contributionAmount;
+        long valueAfterContribution;
+        RewardDraw draw;
+        long delta;
+        long generation;
+
+        ReentrantLock lock = stripe(jackpotId);
+        lock.lock();
+        try {
+            long valueBefore = state.currentValue;
+            contributionAmount = definition.contributionType().getMinorUnitStrategy()
+                    .calculate(bet, valueBefore, initialValue);
+            valueAfterContribution = valueBefore + contributionAmount;
+
+            draw = definition.rewardType().getMinorUnitStrategy()
+                    .draw(valueAfterContribution, initialValue, definition.maxValue());
+
+            delta = draw.won() ? initialValue - valueBefore : contributionAmount;
+            state.apply(delta);
+            generation = draw.won() ? ++state.generation : state.generation;
+        } finally {
+            lock.unlock();
+        }
+
+        compensateOnRollback(state, delta, generation);
+
+        return Optional.of(JackpotSettlement.builder()
+                .jackpotId(jackpotId)
+                .contributionAmount(MinorUnits.toDecimal(contributionAmount))
+                .jackpotValueAfterContribution(MinorUnits.toDecimal(valueAfterContribution))
+                .rewardAmount(draw.won() ? MinorUnits.toDecimal(valueAfterContribution) : null)
+                .currentJackpotValue(MinorUnits.toDecimal(draw.won() ? initialValue : valueAfterContribution))
+                .drawSeed(draw.seed())
+                .drawPosition(draw.position())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${jackpot.ledger.flush-interval-ms:200}")
+    public void flush() {
+        List<DirtyValue> dirtyValues = new ArrayList<>();
+
+        for (JackpotState state : states.values()) {
+            ReentrantLock lock = stripe(state.id);
+            lock.lock();
+            try {
+                if (state.version != state.flushedVersion) {
+                    dirtyValues.add(new DirtyValue(state, state.currentValue, state.version));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (dirtyValues.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> dirtyValues.forEach(dirty ->
+                    jackpotRepository.updateCurrentJackpotValue(dirty.state.id, MinorUnits.toDecimal(dirty.value))));
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} jackpot values, will retry on next flush", dirtyValues.size(), e);
+            return;
+        }
+
+        for (DirtyValue dirty : dirtyValues) {
+            ReentrantLock lock = stripe(dirty.state.id);
+            lock.lock();
+            try {
+                dirty.state.flushedVersion = Math.max(dirty.state.flushedVersion, dirty.version);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        log.debug("Flushed {} jackpot values", dirtyValues.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private JackpotState state(JackpotDefinition definition) {
+        if (definition == null) {
+            return null;
+        }
+
+        JackpotState state = states.get(definition.id());
+        if (state != null) {
+            return state;
+        }
+
+        // Load outside of the map so a slow query does not block other jackpots in the same bin
+        return jackpotRepository.findCurrentJackpotValueById(definition.id())
+                .map(value -> states.computeIfAbsent(definition.id(), id -> new JackpotState(id, MinorUnits.of(value))))
+                .orElse(null);
+    }
+
+    private ReentrantLock stripe(Long jackpotId) {
+        long hash = jackpotId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash >>> 32) & (stripes.length - 1)];
+    }
+
+    /**
+     * @param generation the pool generation the change was applied to, including the reset the change made itself
+     */
+    private void compensateOnRollback(JackpotState state, long delta, long generation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+
+                ReentrantLock lock = stripe(state.id);
+                lock.lock();
+                try {
+                    if (state.generation != generation) {
+                        log.warn("Not compensating jackpot {} by {} after rollback, the pool was reset since",
+                                state.id, MinorUnits.toDecimal(-delta));
+                        return;
+                    }
+                    state.apply(-delta);
+                } finally {
+                    lock.unlock();
+                }
+                log.info("Compensated jackpot {} by {} after rollback", state.id, MinorUnits.toDecimal(-delta));
+            }
+        });
+    }
+
+    /**
+     * Current value of a jackpot in minor units. The non-final fields are guarded by the jackpot's stripe lock.
+     * The rest of the jackpot is read from the {@link JackpotDefinitionCache} on every call, so definition
+     * changes apply without a restart.
+     */
+    private static final class JackpotState {
+
+        private final Long id;
+        private long currentValue;
+        private long version;
+        // Incremented by every win, which starts a new pool
+        private long generation;
+        private long flushedVersion;
+
+        private JackpotState(Long id, long currentValue) {
+            this.id = id;
+            this.currentValue = currentValue;
+        }
+
+        private long apply(long delta) {
+            currentValue = Math.addExact(currentValue, delta);
+            version++;
+            return currentValue;
+        }
+    }
+
+    private record DirtyValue(JackpotState state, long value, long version) {
+    }
+}
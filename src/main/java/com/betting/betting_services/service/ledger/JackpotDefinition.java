@@ -0,0 +1,27 @@
+package com.betting.betting_services.service.ledger;
+
+import com.betting.betting_services.enums.JackpotContributionType;
+import com.betting.betting_services.enums.JackpotRewardType;
+import com.betting.betting_services.money.MinorUnits;
+
+import java.math.BigDecimal;
+
+/**
+ * The settings of a jackpot that do not change while bets are placed, with values in minor units. The current
+ * value is deliberately not part of it, see {@link JackpotDefinitionCache}.
+ */
+public record JackpotDefinition(
+        Long id,
+        long initialValue,
+        long maxValue,
+        JackpotContributionType contributionType,
+        JackpotRewardType rewardType) {
+
+    /**
+     * Used by the {@code JackpotRepository#findDefinitionById} constructor expression.
+     */
+    public JackpotDefinition(Long id, BigDecimal initialJackpotValue, BigDecimal maxJackpotValue,
+                             JackpotContributionType contributionType, JackpotRewardType rewardType) {
+        this(id, MinorUnits.of(initialJackpotValue), MinorUnits.of(maxJackpotValue), contributionType, rewardType);
+    }
+}
@@ -0,0 +1,75 @@
+package com.betting.betting_services.service.ledger;
+
+import com.betting.betting_services.repository.JackpotRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded near cache of {@link JackpotDefinition}s, so a bet only reads the jackpot's current value.
+ * <p>
+ * Definitions are evicted by size ({@code jackpot.definition-cache.max-size}) and invalidated when a
+ * {@code Jackpot} entity is updated or removed (see {@link JackpotDefinitionListener}). Changes made outside
+ * this instance are picked up after {@code jackpot.definition-cache.expire-after-write}. Unknown jackpots are not
+ * cached. Hit and miss counts are published as {@code cache.*} metrics with {@code cache=jackpot.definitions}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotDefinitionCache {
+
+    @Value("${jackpot.definition-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${jackpot.definition-cache.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    private final JackpotRepository jackpotRepository;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Long, JackpotDefinition> definitions;
+
+    @PostConstruct
+    void init() {
+        definitions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, definitions, "jackpot.definitions");
+    }
+
+    public Optional<JackpotDefinition> get(Long jackpotId) {
+        return Optional.ofNullable(definitions.get(jackpotId, id -> jackpotRepository.findDefinitionById(id).orElse(null)));
+    }
+
+    /**
+     * Drops the cached definition now and again once the current transaction completes, so a concurrent bet
+     * cannot cache the old definition between the update and its commit.
+     */
+    public void invalidate(Long jackpotId) {
+        definitions.invalidate(jackpotId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    definitions.invalidate(jackpotId);
+                }
+            });
+        }
+
+        log.debug("Invalidated cached definition of jackpot {}", jackpotId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.betting.betting_services.service.ledger;
+
+import com.betting.betting_services.entity.Jackpot;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Invalidates cached {@link JackpotDefinition}s when a jackpot entity changes. Bulk updates of the current value
+ * bypass entity callbacks and need no invalidation.
+ * <p>
+ * The listener is created by Hibernate while the entity manager factory is being built, before the repository the
+ * cache depends on can exist, so the cache is only looked up when an entity changes.
+ */
+@RequiredArgsConstructor
+public class JackpotDefinitionListener {
+
+    private final ObjectProvider<JackpotDefinitionCache> jackpotDefinitionCache;
+
+    @PostUpdate
+    @PostRemove
+    void onChange(Jackpot jackpot) {
+        jackpotDefinitionCache.getObject().invalidate(jackpot.getId());
+    }
+}
@@ -0,0 +1,21 @@
+package com.betting.betting_services.service.ledger;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Owns the current value of every jackpot pool.
+ * <p>
+ * Implementations are selected with {@code jackpot.ledger.mode}: {@code database} (default) reads and
+ * writes the {@code jackpots} row on every call, {@code in-memory} keeps the values on the heap and
+ * flushes them to the table asynchronously.
+ */
+public interface JackpotLedger {
+
+    /**
+     * Applies the contribution of a bet and evaluates the reward against the resulting pool as one atomic step.
+     *
+     * @return the settlement, or empty if the jackpot does not exist
+     */
+    Optional<JackpotSettlement> settle(Long jackpotId, BigDecimal betAmount);
+}
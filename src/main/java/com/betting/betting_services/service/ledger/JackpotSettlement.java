@@ -0,0 +1,32 @@
+package com.betting.betting_services.service.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of applying one bet to a jackpot: the contribution and, if the bet won, the reward.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JackpotSettlement {
+
+    private Long jackpotId;
+    private BigDecimal contributionAmount;
+    private BigDecimal jackpotValueAfterContribution;
+    private BigDecimal rewardAmount;
+    private BigDecimal currentJackpotValue;
+
+    /** Reward draw of the bet, null if no reward was evaluated. See {@code RewardRandom#replay}. */
+    private Long drawSeed;
+    private Long drawPosition;
+
+    public boolean isRewarded() {
+        return rewardAmount != null;
+    }
+}
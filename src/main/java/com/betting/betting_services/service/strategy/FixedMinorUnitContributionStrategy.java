@@ -0,0 +1,17 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.config.ContributionConfig;
+import com.betting.betting_services.money.MinorUnits;
+
+import java.math.RoundingMode;
+
+/**
+ * Contributes {@code jackpot.contribution.fixed.percentage} of the bet, rounded half up to the cent.
+ */
+public class FixedMinorUnitContributionStrategy implements MinorUnitContributionStrategy {
+
+    @Override
+    public long calculate(long betAmount, long currentJackpotValue, long initialJackpotValue) {
+        return MinorUnits.applyRate(betAmount, ContributionConfig.getFixedRate(), RoundingMode.HALF_UP);
+    }
+}
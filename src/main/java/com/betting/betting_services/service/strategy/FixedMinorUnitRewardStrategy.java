@@ -0,0 +1,19 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.config.RewardConfig;
+
+/**
+ * Wins with a constant {@code jackpot.reward.fixed.chance}, whose threshold is computed once at startup.
+ */
+public class FixedMinorUnitRewardStrategy implements MinorUnitRewardStrategy {
+
+    @Override
+    public long rewardChance(long currentJackpotValue, long initialJackpotValue, long maxJackpotValue) {
+        return RewardConfig.getFixedRewardRate();
+    }
+
+    @Override
+    public long rewardThreshold(long currentJackpotValue, long initialJackpotValue, long maxJackpotValue) {
+        return RewardConfig.getFixedRewardThreshold();
+    }
+}
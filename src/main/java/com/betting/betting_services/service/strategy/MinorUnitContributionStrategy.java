@@ -0,0 +1,14 @@
+package com.betting.betting_services.service.strategy;
+
+/**
+ * Allocation-free counterpart of {@link ContributionStrategy} working on {@code long} minor units.
+ * <p>
+ * Implementations must return exactly what their {@link ContributionStrategy} returns for the same amounts.
+ */
+public interface MinorUnitContributionStrategy {
+
+    /**
+     * @return the contribution in minor units
+     */
+    long calculate(long betAmount, long currentJackpotValue, long initialJackpotValue);
+}
@@ -0,0 +1,29 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.money.MinorUnits;
+
+/**
+ * Allocation-free counterpart of {@link RewardStrategy} working on {@code long} minor units.
+ * <p>
+ * The chance of winning is computed deterministically as a rate, so it can be compared against the
+ * {@link RewardStrategy} arithmetic independently of the random draw. Draws come from {@link RewardRandom} and
+ * can be replayed.
+ */
+public interface MinorUnitRewardStrategy {
+
+    /**
+     * @return the chance of winning as a rate, between {@code 0} and {@link MinorUnits#RATE_SCALE}
+     */
+    long rewardChance(long currentJackpotValue, long initialJackpotValue, long maxJackpotValue);
+
+    /**
+     * @return the {@link RewardRandom} threshold of the chance of winning
+     */
+    default long rewardThreshold(long currentJackpotValue, long initialJackpotValue, long maxJackpotValue) {
+        return RewardRandom.threshold(rewardChance(currentJackpotValue, initialJackpotValue, maxJackpotValue));
+    }
+
+    default RewardDraw draw(long currentJackpotValue, long initialJackpotValue, long maxJackpotValue) {
+        return RewardRandom.draw(rewardThreshold(currentJackpotValue, initialJackpotValue, maxJackpotValue));
+    }
+}
@@ -0,0 +1,25 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.config.ContributionConfig;
+import com.betting.betting_services.money.MinorUnits;
+
+import java.math.RoundingMode;
+
+/**
+ * Contributes {@code initialPercentage - (jackpotGrowth * decayRate)} of the bet, never less than the fixed
+ * percentage. Jackpot growth is measured relative to the initial value.
+ */
+public class PercentageMinorUnitContributionStrategy implements MinorUnitContributionStrategy {
+
+    @Override
+    public long calculate(long betAmount, long currentJackpotValue, long initialJackpotValue) {
+        long growth = currentJackpotValue > initialJackpotValue && initialJackpotValue > 0
+                ? MinorUnits.rateOf(currentJackpotValue - initialJackpotValue, initialJackpotValue, RoundingMode.HALF_UP)
+                : 0;
+
+        long rate = ContributionConfig.getVariableInitialRate()
+                - MinorUnits.applyRate(growth, ContributionConfig.getVariableDecayRate(), RoundingMode.HALF_UP);
+
+        return MinorUnits.applyRate(betAmount, Math.max(rate, ContributionConfig.getFixedRate()), RoundingMode.HALF_UP);
+    }
+}
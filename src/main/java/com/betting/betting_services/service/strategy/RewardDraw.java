@@ -0,0 +1,8 @@
+package com.betting.betting_services.service.strategy;
+
+/**
+ * One reward draw: the generator stream it came from, its position in that stream and whether it won.
+ * {@link RewardRandom#replay} recomputes the outcome from {@code seed} and {@code position}.
+ */
+public record RewardDraw(long seed, long position, boolean won) {
+}
@@ -0,0 +1,101 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.money.MinorUnits;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Random source of reward draws.
+ * <p>
+ * Draws are spread over a fixed set of streams by thread id. A stream is a seed and an atomic position, and a draw
+ * takes the next position with a single {@code getAndIncrement}, so threads never block or pin their carrier, and
+ * short-lived virtual threads share streams instead of each starting a new one. The stream seeds come from a root
+ * generator, which can be seeded with {@code jackpot.reward.random.seed} for reproducible runs. A chance is turned
+ * into a threshold once, and a draw is a single comparison of 63 random bits against it.
+ * <p>
+ * The {@code n}-th value of a {@code SplittableRandom(seed)} is {@code mix64(seed + (n + 1) * GOLDEN_GAMMA)},
+ * so any draw can be replayed from its seed and position without regenerating the stream.
+ */
+public final class RewardRandom {
+
+    /** Threshold of a chance of 100%: wins regardless of the drawn bits. */
+    public static final long ALWAYS = Long.MAX_VALUE;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long THRESHOLD_PER_RATE_UNIT = Long.MAX_VALUE / MinorUnits.RATE_SCALE;
+
+    private static final int STREAMS = 64;
+
+    private static volatile Stream[] streams = newStreams(new SplittableRandom());
+
+    private RewardRandom() {
+    }
+
+    /**
+     * Replaces all streams with streams seeded from {@code seed}, starting at position 0.
+     */
+    public static void seed(long seed) {
+        streams = newStreams(new SplittableRandom(seed));
+    }
+
+    /**
+     * Replaces all streams with randomly seeded ones, as at startup.
+     */
+    static void reset() {
+        streams = newStreams(new SplittableRandom());
+    }
+
+    /**
+     * @param chance a rate between {@code 0} and {@link MinorUnits#RATE_SCALE}
+     */
+    public static long threshold(long chance) {
+        if (chance >= MinorUnits.RATE_SCALE) {
+            return ALWAYS;
+        }
+        return Math.max(0, chance) * THRESHOLD_PER_RATE_UNIT;
+    }
+
+    public static RewardDraw draw(long threshold) {
+        long hash = Thread.currentThread().threadId() * GOLDEN_GAMMA;
+        Stream stream = streams[(int) (hash >>> 32) & (STREAMS - 1)];
+        long position = stream.position.getAndIncrement();
+        return new RewardDraw(stream.seed, position, replay(stream.seed, position, threshold));
+    }
+
+    /**
+     * @return whether the draw at {@code position} of the stream seeded with {@code seed} wins against
+     * {@code threshold}
+     */
+    public static boolean replay(long seed, long position, long threshold) {
+        return wins(mix64(seed + (position + 1) * GOLDEN_GAMMA), threshold);
+    }
+
+    private static boolean wins(long bits, long threshold) {
+        return threshold == ALWAYS || (bits >>> 1) < threshold;
+    }
+
+    /**
+     * The output function of {@link SplittableRandom}.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Stream[] newStreams(SplittableRandom root) {
+        Stream[] newStreams = new Stream[STREAMS];
+        for (int i = 0; i < STREAMS; i++) {
+            newStreams[i] = new Stream(root.nextLong());
+        }
+        return newStreams;
+    }
+
+    private record Stream(long seed, AtomicLong position) {
+
+        private Stream(long seed) {
+            this(seed, new AtomicLong());
+        }
+    }
+}
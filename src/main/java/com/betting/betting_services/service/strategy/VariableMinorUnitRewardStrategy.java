@@ -0,0 +1,30 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.config.RewardConfig;
+import com.betting.betting_services.money.MinorUnits;
+
+import java.math.RoundingMode;
+
+/**
+ * Wins with {@code initialChance + (growthPercentage * growthRate)}, where growth is measured between the
+ * initial and the max value. A jackpot at or above its max value always wins.
+ */
+public class VariableMinorUnitRewardStrategy implements MinorUnitRewardStrategy {
+
+    @Override
+    public long rewardChance(long currentJackpotValue, long initialJackpotValue, long maxJackpotValue) {
+        if (currentJackpotValue >= maxJackpotValue) {
+            return MinorUnits.RATE_SCALE;
+        }
+
+        long growth = currentJackpotValue > initialJackpotValue
+                ? MinorUnits.rateOf(currentJackpotValue - initialJackpotValue, maxJackpotValue - initialJackpotValue,
+                        RoundingMode.HALF_UP)
+                : 0;
+
+        long chance = RewardConfig.getVariableInitialRewardRate()
+                + MinorUnits.applyRate(growth, RewardConfig.getVariableGrowthRate(), RoundingMode.HALF_UP);
+
+        return Math.min(chance, MinorUnits.RATE_SCALE);
+    }
+}
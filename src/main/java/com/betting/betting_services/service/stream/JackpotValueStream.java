@@ -0,0 +1,244 @@
+package com.betting.betting_services.service.stream;
+
+import com.betting.betting_services.repository.JackpotRepository;
+import com.betting.betting_services.service.JackpotValueChanged;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fans jackpot value changes out to Server-Sent Events subscribers.
+ * <p>
+ * Committed {@link JackpotValueChanged} events only overwrite the latest value of their jackpot. Every
+ * {@code jackpot.stream.interval-ms} the changed jackpots are turned into one SSE frame each, serialized once and
+ * shared by all subscribers of that jackpot, so a burst of bets costs at most one frame per jackpot per interval
+ * however many viewers there are.
+ * <p>
+ * Each subscriber holds a single pending frame. A new frame replaces one the client has not taken yet, so a slow
+ * client skips straight to the latest value instead of buffering. Frames are written by a short-lived virtual
+ * thread per subscriber that only runs while a frame is pending; a blocked write never delays other subscribers.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JackpotValueStream {
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    @Value("${jackpot.stream.timeout:30m}")
+    private Duration timeout;
+
+    private final JackpotRepository jackpotRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<Long, BigDecimal> changedValues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, byte[]> lastFrames = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong frameIds = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Counter framesBuilt;
+    private Counter framesDropped;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("jackpot.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open jackpot value streams")
+                .register(meterRegistry);
+        framesBuilt = Counter.builder("jackpot.stream.frames")
+                .description("Jackpot value frames built, each shared by all subscribers of the jackpot")
+                .register(meterRegistry);
+        framesDropped = Counter.builder("jackpot.stream.frames.dropped")
+                .description("Frames replaced by a newer one before a slow subscriber took them")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onJackpotValueChanged(JackpotValueChanged event) {
+        changedValues.put(event.jackpotId(), event.currentJackpotValue());
+    }
+
+    /**
+     * Opens a stream of the values of {@code jackpotId}, starting with the current one.
+     *
+     * @return the emitter, or empty if the jackpot does not exist
+     */
+    public Optional<ResponseBodyEmitter> subscribe(Long jackpotId) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(jackpotId, emitter);
+
+        subscribers.compute(jackpotId, (id, watching) -> {
+            Set<Subscriber> set = watching != null ? watching : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        // Read only once registered, so a frame published meanwhile is either read here or offered by publish()
+        byte[] initialFrame = lastFrames.get(jackpotId);
+        if (initialFrame == null) {
+            Optional<BigDecimal> currentValue = jackpotRepository.findTotalJackpotValueById(jackpotId);
+            if (currentValue.isEmpty()) {
+                subscriber.close();
+                return Optional.empty();
+            }
+            initialFrame = frame(jackpotId, currentValue.get());
+        }
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        subscriber.offerInitial(initialFrame);
+        log.debug("Subscribed to jackpot {}, {} streams open", jackpotId, subscriberCount.get());
+
+        return Optional.of(emitter);
+    }
+
+    @Scheduled(fixedDelayString = "${jackpot.stream.interval-ms:250}")
+    public void publish() {
+        for (Long jackpotId : changedValues.keySet()) {
+            // A change arriving after the removal stays in the map for the next interval
+            BigDecimal value = changedValues.remove(jackpotId);
+            if (value == null) {
+                continue;
+            }
+
+            byte[] frame = frame(jackpotId, value);
+            lastFrames.put(jackpotId, frame);
+
+            Set<Subscriber> watching = subscribers.get(jackpotId);
+            if (watching != null) {
+                watching.forEach(subscriber -> subscriber.offer(frame));
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${jackpot.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(watching -> watching.forEach(Subscriber::offerHeartbeat));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(watching -> watching.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private byte[] frame(Long jackpotId, BigDecimal value) {
+        framesBuilt.increment();
+        return ("id: " + frameIds.incrementAndGet() + "\n" +
+                "event: jackpot-value\n" +
+                "data: {\"jackpotId\":" + jackpotId + ",\"currentJackpotValue\":" + value.toPlainString() + "}\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private final class Subscriber {
+
+        private final Long jackpotId;
+        private final ResponseBodyEmitter emitter;
+        private final AtomicReference<byte[]> pendingFrame = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private boolean published;
+
+        private Subscriber(Long jackpotId, ResponseBodyEmitter emitter) {
+            this.jackpotId = jackpotId;
+            this.emitter = emitter;
+        }
+
+        private synchronized void offer(byte[] frame) {
+            published = true;
+            byte[] replaced = pendingFrame.getAndSet(frame);
+            if (replaced != null && replaced != HEARTBEAT) {
+                framesDropped.increment();
+            }
+            scheduleSend();
+        }
+
+        /**
+         * Offers the value read at subscription unless publish() already offered a newer frame.
+         */
+        private synchronized void offerInitial(byte[] frame) {
+            if (!published) {
+                pendingFrame.set(frame);
+                scheduleSend();
+            }
+        }
+
+        private void offerHeartbeat() {
+            if (pendingFrame.compareAndSet(null, HEARTBEAT)) {
+                scheduleSend();
+            }
+        }
+
+        private void scheduleSend() {
+            if (!closed.get() && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                byte[] frame;
+                while (!closed.get() && (frame = pendingFrame.getAndSet(null)) != null) {
+                    emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Jackpot {} stream closed by client: {}", jackpotId, e.getMessage());
+                // The container completes the request, only stop writing to it
+                close();
+                return;
+            } finally {
+                sending.set(false);
+            }
+
+            // A frame offered between the last take and clearing the flag
+            if (pendingFrame.get() != null) {
+                scheduleSend();
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+
+            subscribers.computeIfPresent(jackpotId, (id, watching) -> {
+                watching.remove(this);
+                return watching.isEmpty() ? null : watching;
+            });
+            subscriberCount.decrementAndGet();
+        }
+    }
+}
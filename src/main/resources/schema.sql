@@ -0,0 +1,102 @@
+-- Outbox events, range-partitioned by day on created_at.
+-- Daily partitions are created ahead of time and dropped after retention by OutboxPartitionMaintenance.
+-- The id sequence lives as long as the table; INCREMENT BY matches the entity's allocationSize.
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id              BIGINT       NOT NULL,
+    aggregate_type  VARCHAR(255) NOT NULL,
+    aggregate_id    VARCHAR(255) NOT NULL,
+    event_type      VARCHAR(255) NOT NULL,
+    payload         BYTEA        NOT NULL,
+    payload_format  VARCHAR(20)  NOT NULL,
+    message_key     VARCHAR(255),
+    created_at      TIMESTAMP(6) NOT NULL,
+    published_at    TIMESTAMP(6),
+    status          VARCHAR(50)  NOT NULL,
+    retry_count     INTEGER,
+    error_message   TEXT,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside the pre-created daily partitions
+CREATE TABLE IF NOT EXISTS outbox_events_default PARTITION OF outbox_events DEFAULT;
+
+-- Only pending rows are ever claimed, so the relay index stays as small as the backlog
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (next_attempt_at) WHERE status = 'PENDING';
+
+-- Counter shards of the jackpots in jackpot.ledger.sharded.jackpot-ids. The value of such a jackpot is
+-- jackpots.current_jackpot_value plus the sum of its shard deltas. Contributions update rows in place, so free
+-- space is left on each page for HOT updates; a win merges and deletes the shards of its jackpot.
+CREATE TABLE IF NOT EXISTS jackpot_counter_shards (
+    jackpot_id BIGINT         NOT NULL,
+    shard      INTEGER        NOT NULL,
+    delta      NUMERIC(19, 2) NOT NULL,
+    PRIMARY KEY (jackpot_id, shard)
+) WITH (fillfactor = 50);
+
+-- Keyset pagination of the read APIs: (owner, id) so a page is a backward range scan starting right below the
+-- previous page's last id, whatever its depth. The INCLUDE columns are the ones the listings return, so pages
+-- are served by index-only scans without touching the heap.
+CREATE INDEX IF NOT EXISTS idx_bets_user_id_id ON bets (user_id, id)
+    INCLUDE (jackpot_id, bet_amount, created_at);
+CREATE INDEX IF NOT EXISTS idx_bets_jackpot_id_id ON bets (jackpot_id, id)
+    INCLUDE (user_id, bet_amount, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_jackpot_contributions_user_id_id ON jackpot_contributions (user_id, id)
+    INCLUDE (bet_id, jackpot_id, stake_amount, contribution_amount, current_jackpot_amount, created_at);
+CREATE INDEX IF NOT EXISTS idx_jackpot_contributions_jackpot_id_id ON jackpot_contributions (jackpot_id, id)
+    INCLUDE (bet_id, user_id, stake_amount, contribution_amount, current_jackpot_amount, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_jackpot_rewards_user_id_id ON jackpot_rewards (user_id, id)
+    INCLUDE (bet_id, jackpot_id, jackpot_reward_amount, created_at);
+CREATE INDEX IF NOT EXISTS idx_jackpot_rewards_jackpot_id_id ON jackpot_rewards (jackpot_id, id)
+    INCLUDE (bet_id, user_id, jackpot_reward_amount, created_at);
+
+-- Contribution journal of jackpot.contribution.storage=journal: insert-only, amounts in minor units. Entries are
+-- appended in created_at order, so a BRIN index is enough for the compactor's range scans and deletes; the bet_id
+-- index serves the redelivery check of the pipeline consumer.
+CREATE TABLE IF NOT EXISTS jackpot_contribution_journal (
+    id                  BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    bet_id              BIGINT    NOT NULL,
+    user_id             BIGINT    NOT NULL,
+    jackpot_id          BIGINT    NOT NULL,
+    stake_minor         BIGINT    NOT NULL,
+    contribution_minor  BIGINT    NOT NULL,
+    jackpot_value_minor BIGINT    NOT NULL,
+    draw_seed           BIGINT,
+    draw_position       BIGINT,
+    created_at          TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_jackpot_contribution_journal_created_at
+    ON jackpot_contribution_journal USING brin (created_at);
+CREATE INDEX IF NOT EXISTS idx_jackpot_contribution_journal_bet_id ON jackpot_contribution_journal (bet_id);
+
+-- Journal entries created before compacted_until are folded into jackpot_contribution_aggregates
+CREATE TABLE IF NOT EXISTS jackpot_contribution_compaction (
+    id              INTEGER PRIMARY KEY,
+    compacted_until TIMESTAMP NOT NULL
+);
+INSERT INTO jackpot_contribution_compaction (id, compacted_until) VALUES (1, TIMESTAMP '2000-01-01')
+    ON CONFLICT (id) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS jackpot_contribution_aggregates (
+    id                  BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    jackpot_id          BIGINT         NOT NULL,
+    bucket_start        TIMESTAMP      NOT NULL,
+    contribution_count  BIGINT         NOT NULL,
+    stake_amount        NUMERIC(19, 2) NOT NULL,
+    contribution_amount NUMERIC(19, 2) NOT NULL,
+    UNIQUE (jackpot_id, bucket_start)
+);
+
+-- The journal refers to bets by id, and bets with their id sequence are recreated by ddl-auto=create-drop on every
+-- start. Kept entries would mark new bets that reuse an old id as already contributed, so the journal and its
+-- aggregates are reset together with the Hibernate tables.
+TRUNCATE jackpot_contribution_journal, jackpot_contribution_aggregates;
+UPDATE jackpot_contribution_compaction SET compacted_until = TIMESTAMP '2000-01-01';
+
+-- jackpots is recreated by ddl-auto=create-drop on every start and its ids restart; shards of the previous run
+-- would be added to the new jackpots with the same ids
+TRUNCATE jackpot_counter_shards;
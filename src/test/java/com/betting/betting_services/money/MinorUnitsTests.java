@@ -0,0 +1,88 @@
+package com.betting.betting_services.money;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinorUnitsTests {
+
+	private static final int SAMPLES = 100_000;
+
+	@ParameterizedTest
+	@EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+	void divideMatchesBigDecimal(RoundingMode roundingMode) {
+		SplittableRandom random = new SplittableRandom(42);
+
+		for (int i = 0; i < SAMPLES; i++) {
+			long dividend = random.nextLong(-1_000_000_000L, 1_000_000_000L);
+			long divisor = random.nextBoolean() ? random.nextLong(1, 1_000) : -random.nextLong(1, 1_000);
+
+			long expected = BigDecimal.valueOf(dividend)
+					.divide(BigDecimal.valueOf(divisor), 0, roundingMode)
+					.longValueExact();
+
+			assertThat(MinorUnits.divide(dividend, divisor, roundingMode))
+					.as("%d / %d %s", dividend, divisor, roundingMode)
+					.isEqualTo(expected);
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+	void divideRoundsExactHalves(RoundingMode roundingMode) {
+		for (long dividend = -25; dividend <= 25; dividend++) {
+			long expected = BigDecimal.valueOf(dividend)
+					.divide(BigDecimal.TEN, 0, roundingMode)
+					.longValueExact();
+
+			assertThat(MinorUnits.divide(dividend, 10, roundingMode)).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void divideUnnecessaryFailsWhenInexact() {
+		assertThat(MinorUnits.divide(10, 5, RoundingMode.UNNECESSARY)).isEqualTo(2);
+		assertThatThrownBy(() -> MinorUnits.divide(10, 3, RoundingMode.UNNECESSARY))
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void applyRateMatchesBigDecimal() {
+		SplittableRandom random = new SplittableRandom(7);
+
+		for (int i = 0; i < SAMPLES; i++) {
+			long amount = random.nextLong(0, 100_000_000_00L);
+			long rate = random.nextLong(0, MinorUnits.RATE_SCALE + 1);
+
+			BigDecimal expected = MinorUnits.toDecimal(amount)
+					.multiply(BigDecimal.valueOf(rate, 6))
+					.setScale(MinorUnits.SCALE, RoundingMode.HALF_UP);
+
+			assertThat(MinorUnits.toDecimal(MinorUnits.applyRate(amount, rate, RoundingMode.HALF_UP)))
+					.isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void applyRateFailsOnOverflow() {
+		assertThatThrownBy(() -> MinorUnits.applyRate(Long.MAX_VALUE / 2, MinorUnits.RATE_SCALE, RoundingMode.HALF_UP))
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void convertsAtTheEdges() {
+		assertThat(MinorUnits.of(new BigDecimal("100"))).isEqualTo(100_00L);
+		assertThat(MinorUnits.of(new BigDecimal("12.345"))).isEqualTo(12_35L);
+		assertThat(MinorUnits.of(new BigDecimal("-12.345"))).isEqualTo(-12_35L);
+		assertThat(MinorUnits.toDecimal(12_35L)).isEqualTo(new BigDecimal("12.35"));
+		assertThat(MinorUnits.rateOfPercent(new BigDecimal("10.0"))).isEqualTo(100_000L);
+		assertThat(MinorUnits.rateOf(new BigDecimal("0.5"))).isEqualTo(500_000L);
+	}
+}
@@ -0,0 +1,138 @@
+package com.betting.betting_services.service;
+
+import com.betting.betting_services.model.BetDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that a repeated {@code Idempotency-Key} replays the original bet from memory or from the database.
+ */
+class BetIdempotencyIndexTests {
+
+	private static final String KEY = "key-1";
+
+	private final BetService betService = mock(BetService.class);
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private BetIdempotencyIndex index;
+
+	@BeforeEach
+	void setUp() {
+		DatabaseBulkhead databaseBulkhead = new DatabaseBulkhead(false, 10, 2, 2, 5000, meterRegistry);
+		index = new BetIdempotencyIndex(betService, databaseBulkhead, meterRegistry);
+		ReflectionTestUtils.setField(index, "maxSize", 100L);
+		ReflectionTestUtils.setField(index, "expireAfterWrite", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(index, "maxKeyLength", 255);
+		index.init();
+	}
+
+	@Test
+	void repeatedKeyIsReplayedFromMemory() {
+		AtomicInteger placements = new AtomicInteger();
+		Function<BetDto, CompletableFuture<BetDto>> placement = bet -> {
+			placements.incrementAndGet();
+			return CompletableFuture.completedFuture(placed(bet, 1L));
+		};
+
+		BetDto first = index.submit(bet("10.00"), placement).join();
+		BetDto retry = index.submit(bet("10.00"), placement).join();
+
+		assertThat(retry).isSameAs(first);
+		assertThat(placements).hasValue(1);
+		assertThat(replays("memory")).isEqualTo(1.0);
+		verify(betService, never()).findByIdempotencyKey(KEY);
+	}
+
+	@Test
+	void duplicateInsertIsReplayedFromDatabase() {
+		BetDto stored = placed(bet("10.00"), 1L);
+		when(betService.findByIdempotencyKey(KEY)).thenReturn(Optional.of(stored));
+
+		BetDto result = index.submit(bet("10.00"), bet -> CompletableFuture.failedFuture(
+				new CompletionException(new DataIntegrityViolationException("duplicate key")))).join();
+
+		assertThat(result).isSameAs(stored);
+		assertThat(replays("database")).isEqualTo(1.0);
+	}
+
+	@Test
+	void duplicateInsertWithoutStoredBetFails() {
+		when(betService.findByIdempotencyKey(KEY)).thenReturn(Optional.empty());
+
+		CompletableFuture<BetDto> result = index.submit(bet("10.00"),
+				bet -> CompletableFuture.failedFuture(new DataIntegrityViolationException("other constraint")));
+
+		assertThatThrownBy(result::join).hasCauseInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	@Test
+	void keyReusedForDifferentBetIsRejected() {
+		index.submit(bet("10.00"), bet -> CompletableFuture.completedFuture(placed(bet, 1L))).join();
+
+		CompletableFuture<BetDto> reused = index.submit(bet("25.00"),
+				bet -> CompletableFuture.completedFuture(placed(bet, 2L)));
+
+		assertThatThrownBy(reused::join).hasCauseInstanceOf(IdempotencyKeyReusedException.class);
+	}
+
+	@Test
+	void keyReusedForDifferentStoredBetIsRejected() {
+		when(betService.findByIdempotencyKey(KEY)).thenReturn(Optional.of(placed(bet("10.00"), 1L)));
+
+		CompletableFuture<BetDto> reused = index.submit(bet("25.00"),
+				bet -> CompletableFuture.failedFuture(new DataIntegrityViolationException("duplicate key")));
+
+		assertThatThrownBy(reused::join).hasCauseInstanceOf(IdempotencyKeyReusedException.class);
+	}
+
+	@Test
+	void failedPlacementCanBeRetried() {
+		index.submit(bet("10.00"), bet -> CompletableFuture.failedFuture(new IllegalStateException("down")));
+
+		BetDto retry = index.submit(bet("10.00"), bet -> CompletableFuture.completedFuture(placed(bet, 1L))).join();
+
+		assertThat(retry.getId()).isEqualTo(1L);
+	}
+
+	private double replays(String source) {
+		return meterRegistry.get("bet.idempotency.replays").tag("source", source).counter().count();
+	}
+
+	private static BetDto bet(String amount) {
+		return BetDto.builder()
+				.userId(3L)
+				.jackpotId(7L)
+				.betAmount(new BigDecimal(amount))
+				.idempotencyKey(KEY)
+				.build();
+	}
+
+	private static BetDto placed(BetDto bet, long id) {
+		return BetDto.builder()
+				.id(id)
+				.userId(bet.getUserId())
+				.jackpotId(bet.getJackpotId())
+				.betAmount(bet.getBetAmount())
+				.idempotencyKey(bet.getIdempotencyKey())
+				.build();
+	}
+}
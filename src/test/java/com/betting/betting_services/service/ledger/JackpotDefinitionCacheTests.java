@@ -0,0 +1,84 @@
+package com.betting.betting_services.service.ledger;
+
+import com.betting.betting_services.entity.Jackpot;
+import com.betting.betting_services.enums.JackpotContributionType;
+import com.betting.betting_services.enums.JackpotRewardType;
+import com.betting.betting_services.repository.JackpotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests that cached jackpot definitions are reloaded after the entity listener invalidates them.
+ */
+class JackpotDefinitionCacheTests {
+
+	private static final long JACKPOT_ID = 7L;
+
+	private final JackpotRepository jackpotRepository = mock(JackpotRepository.class);
+
+	private JackpotDefinitionCache cache;
+	private JackpotDefinitionListener listener;
+
+	@BeforeEach
+	void setUp() {
+		cache = new JackpotDefinitionCache(jackpotRepository, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "maxSize", 100L);
+		ReflectionTestUtils.setField(cache, "expireAfterWrite", Duration.ofMinutes(10));
+		cache.init();
+
+		listener = new JackpotDefinitionListener(new StaticListableBeanFactory(Map.of("jackpotDefinitionCache", cache))
+				.getBeanProvider(JackpotDefinitionCache.class));
+	}
+
+	@Test
+	void definitionIsLoadedOnce() {
+		when(jackpotRepository.findDefinitionById(JACKPOT_ID)).thenReturn(Optional.of(definition(100_00L)));
+
+		assertThat(cache.get(JACKPOT_ID)).contains(definition(100_00L));
+		assertThat(cache.get(JACKPOT_ID)).contains(definition(100_00L));
+
+		verify(jackpotRepository, times(1)).findDefinitionById(JACKPOT_ID);
+	}
+
+	@Test
+	void entityChangeReloadsDefinition() {
+		when(jackpotRepository.findDefinitionById(JACKPOT_ID))
+				.thenReturn(Optional.of(definition(100_00L)))
+				.thenReturn(Optional.of(definition(250_00L)));
+
+		assertThat(cache.get(JACKPOT_ID)).contains(definition(100_00L));
+
+		listener.onChange(Jackpot.builder().id(JACKPOT_ID).build());
+
+		assertThat(cache.get(JACKPOT_ID)).contains(definition(250_00L));
+		verify(jackpotRepository, times(2)).findDefinitionById(JACKPOT_ID);
+	}
+
+	@Test
+	void unknownJackpotIsNotCached() {
+		when(jackpotRepository.findDefinitionById(JACKPOT_ID))
+				.thenReturn(Optional.empty())
+				.thenReturn(Optional.of(definition(100_00L)));
+
+		assertThat(cache.get(JACKPOT_ID)).isEmpty();
+		assertThat(cache.get(JACKPOT_ID)).contains(definition(100_00L));
+	}
+
+	private static JackpotDefinition definition(long initialValue) {
+		return new JackpotDefinition(JACKPOT_ID, initialValue, initialValue * 10,
+				JackpotContributionType.FIXED, JackpotRewardType.FIXED);
+	}
+}
@@ -0,0 +1,143 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.config.ContributionConfig;
+import com.betting.betting_services.config.RewardConfig;
+import com.betting.betting_services.enums.JackpotContributionType;
+import com.betting.betting_services.enums.JackpotRewardType;
+import com.betting.betting_services.money.MinorUnits;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * Differential tests proving the minor-unit strategies compute the same amounts as the {@code BigDecimal} ones.
+ */
+class MinorUnitStrategyTests {
+
+	private static final int SAMPLES = 200_000;
+
+	@BeforeAll
+	static void configure() {
+		// Same values as application.properties
+		ContributionConfig contributionConfig = new ContributionConfig();
+		contributionConfig.setFixedPercentage(new BigDecimal("10.0"));
+		contributionConfig.setVariableInitialPercentage(new BigDecimal("20.0"));
+		contributionConfig.setVariableDecayRate(new BigDecimal("0.1"));
+
+		RewardConfig rewardConfig = new RewardConfig();
+		rewardConfig.setFixedRewardChance(new BigDecimal("5.0"));
+		rewardConfig.setVariableInitialRewardChance(new BigDecimal("1.0"));
+		rewardConfig.setVariableGrowthRate(new BigDecimal("0.5"));
+	}
+
+	@ParameterizedTest
+	@EnumSource(JackpotContributionType.class)
+	void contributionMatchesBigDecimalStrategy(JackpotContributionType type) {
+		SplittableRandom random = new SplittableRandom(type.ordinal());
+
+		for (int i = 0; i < SAMPLES; i++) {
+			long bet = random.nextLong(1, 1_000_000_00L);
+			long initial = random.nextLong(1, 10_000_000_00L);
+			long current = random.nextLong(initial, initial * 4);
+
+			assertContributionMatches(type, bet, current, initial);
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(JackpotContributionType.class)
+	void contributionMatchesBigDecimalStrategyAtEdges(JackpotContributionType type) {
+		long[] bets = {1, 4, 5, 9, 10, 15, 99, 100, 12_345, 1_000_000_00L};
+		long[] initials = {1, 100, 1_000_00L, 1_000_000_00L};
+
+		for (long bet : bets) {
+			for (long initial : initials) {
+				for (long current : new long[]{initial, initial + 1, initial * 2, initial * 10, initial * 1_000}) {
+					assertContributionMatches(type, bet, current, initial);
+				}
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(JackpotRewardType.class)
+	void rewardChanceMatchesBigDecimalStrategy(JackpotRewardType type) {
+		long initial = 1_000_00L;
+		long max = 10_000_00L;
+
+		for (long current : new long[]{initial, initial + 1, 2_500_00L, 5_500_00L, max - 1, max}) {
+			assertRewardChanceMatches(type, current, initial, max);
+		}
+	}
+
+	@Test
+	void variableRewardAlwaysWinsAtMax() {
+		BigDecimal initial = MinorUnits.toDecimal(1_000_00L);
+		BigDecimal max = MinorUnits.toDecimal(10_000_00L);
+
+		for (int i = 0; i < 1_000; i++) {
+			assertThat(JackpotRewardType.VARIABLE.getStrategy().isEligibleForReward(max, initial, max)).isTrue();
+			assertThat(JackpotRewardType.VARIABLE.getMinorUnitStrategy()
+					.draw(MinorUnits.of(max), MinorUnits.of(initial), MinorUnits.of(max)).won()).isTrue();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(JackpotRewardType.class)
+	void rewardDrawFollowsChance(JackpotRewardType type) {
+		long initial = 1_000_00L;
+		long max = 10_000_00L;
+		long current = 4_000_00L;
+		int draws = 200_000;
+
+		int wins = 0;
+		for (int i = 0; i < draws; i++) {
+			if (type.getMinorUnitStrategy().draw(current, initial, max).won()) {
+				wins++;
+			}
+		}
+
+		double expected = (double) type.getMinorUnitStrategy().rewardChance(current, initial, max) / MinorUnits.RATE_SCALE;
+		assertThat((double) wins / draws).isCloseTo(expected, offset(0.01));
+	}
+
+	private static void assertContributionMatches(JackpotContributionType type, long bet, long current, long initial) {
+		BigDecimal expected = type.getStrategy().calculate(
+				MinorUnits.toDecimal(bet), MinorUnits.toDecimal(current), MinorUnits.toDecimal(initial));
+
+		long actual = type.getMinorUnitStrategy().calculate(bet, current, initial);
+
+		assertThat(MinorUnits.toDecimal(actual))
+				.as("%s contribution of bet %d at %d from %d", type, bet, current, initial)
+				.isEqualByComparingTo(expected);
+	}
+
+	/**
+	 * The {@code BigDecimal} strategy only exposes its draw, so its win rate is compared with the minor-unit chance.
+	 */
+	private static void assertRewardChanceMatches(JackpotRewardType type, long current, long initial, long max) {
+		BigDecimal decimalCurrent = MinorUnits.toDecimal(current);
+		BigDecimal decimalInitial = MinorUnits.toDecimal(initial);
+		BigDecimal decimalMax = MinorUnits.toDecimal(max);
+
+		int wins = 0;
+		for (int i = 0; i < SAMPLES; i++) {
+			if (type.getStrategy().isEligibleForReward(decimalCurrent, decimalInitial, decimalMax)) {
+				wins++;
+			}
+		}
+
+		double expected = (double) type.getMinorUnitStrategy().rewardChance(current, initial, max) / MinorUnits.RATE_SCALE;
+		// Over five standard deviations of the win rate for any chance
+		assertThat((double) wins / SAMPLES)
+				.as("%s chance at %d of %d..%d", type, current, initial, max)
+				.isCloseTo(expected, offset(0.006));
+	}
+}
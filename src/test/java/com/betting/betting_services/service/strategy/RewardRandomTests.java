@@ -0,0 +1,103 @@
+package com.betting.betting_services.service.strategy;
+
+import com.betting.betting_services.money.MinorUnits;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that reward draws are reproducible from their recorded seed and position.
+ */
+class RewardRandomTests {
+
+	private static final int DRAWS = 100_000;
+
+	@Test
+	void replayMatchesSplittableRandomSequence() {
+		long seed = 0x5eed_1234_5678L;
+		long threshold = RewardRandom.threshold(MinorUnits.RATE_SCALE / 3);
+		SplittableRandom random = new SplittableRandom(seed);
+
+		for (long position = 0; position < DRAWS; position++) {
+			boolean expected = (random.nextLong() >>> 1) < threshold;
+			assertThat(RewardRandom.replay(seed, position, threshold)).as("draw %d", position).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void recordedDrawsReplay() {
+		long threshold = RewardRandom.threshold(MinorUnits.RATE_SCALE / 20);
+
+		List<RewardDraw> draws = new ArrayList<>(DRAWS);
+		for (int i = 0; i < DRAWS; i++) {
+			draws.add(RewardRandom.draw(threshold));
+		}
+
+		for (RewardDraw draw : draws) {
+			assertThat(RewardRandom.replay(draw.seed(), draw.position(), threshold)).isEqualTo(draw.won());
+		}
+		assertThat(draws.get(DRAWS - 1).position() - draws.get(0).position()).isEqualTo(DRAWS - 1);
+	}
+
+	@Test
+	void seededStreamsAreReproducible() {
+		try {
+			RewardRandom.seed(42L);
+			RewardDraw first = RewardRandom.draw(RewardRandom.ALWAYS);
+
+			RewardRandom.seed(42L);
+			RewardDraw second = RewardRandom.draw(RewardRandom.ALWAYS);
+
+			assertThat(second).isEqualTo(first);
+			assertThat(first.position()).isZero();
+
+			SplittableRandom root = new SplittableRandom(42L);
+			List<Long> streamSeeds = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				streamSeeds.add(root.nextLong());
+			}
+			assertThat(streamSeeds).contains(first.seed());
+		} finally {
+			RewardRandom.reset();
+		}
+	}
+
+	@Test
+	void concurrentDrawsTakeDistinctPositions() {
+		int threads = 16;
+		int drawsPerThread = 10_000;
+		Set<RewardDraw> draws = ConcurrentHashMap.newKeySet();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int t = 0; t < threads; t++) {
+				executor.submit(() -> {
+					for (int i = 0; i < drawsPerThread; i++) {
+						draws.add(RewardRandom.draw(RewardRandom.ALWAYS));
+					}
+				});
+			}
+		}
+
+		// Every (seed, position) pair is drawn once, whichever threads share a stream
+		assertThat(draws).hasSize(threads * drawsPerThread);
+	}
+
+	@Test
+	void thresholdBounds() {
+		assertThat(RewardRandom.threshold(0)).isZero();
+		assertThat(RewardRandom.threshold(MinorUnits.RATE_SCALE)).isEqualTo(RewardRandom.ALWAYS);
+
+		for (long position = 0; position < 1_000; position++) {
+			assertThat(RewardRandom.replay(7L, position, RewardRandom.threshold(0))).isFalse();
+			assertThat(RewardRandom.replay(7L, position, RewardRandom.ALWAYS)).isTrue();
+		}
+	}
+}